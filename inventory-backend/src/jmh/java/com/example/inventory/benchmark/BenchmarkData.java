@@ -0,0 +1,92 @@
+package com.example.inventory.benchmark;
+
+import com.example.inventory.dto.category.CategoryDTO;
+import com.example.inventory.dto.inventory.InventoryDTO;
+import com.example.inventory.dto.product.ProductDTO;
+import com.example.inventory.dto.supplier.SupplierDTO;
+import com.example.inventory.entity.Category;
+import com.example.inventory.entity.Inventory;
+import com.example.inventory.entity.Product;
+import com.example.inventory.entity.Supplier;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Fixtures shared by the benchmarks
+final class BenchmarkData {
+
+    // Runs the application against an in-memory H2 database in PostgreSQL mode instead of a real server.
+    // The Flyway scripts are PostgreSQL-specific, so Hibernate creates the schema from the mappings here.
+    static final String[] EMBEDDED_DATABASE_PROPERTIES = {
+            "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+            "spring.datasource.username=sa",
+            "spring.datasource.password=",
+            "spring.flyway.enabled=false",
+            "spring.jpa.hibernate.ddl-auto=create-drop",
+            "spring.jpa.open-in-view=false",
+            "inventory.schema.verify-indexes=false", // ddl-auto creates none of the migration indexes
+            "server.port=0",
+            "logging.level.root=WARN"
+    };
+
+    private BenchmarkData() {
+    }
+
+    static Product product(long id) {
+        Category category = new Category();
+        category.setCategoryId(id % 20);
+        category.setName("Category " + (id % 20));
+
+        Supplier supplier = new Supplier();
+        supplier.setSupplierId(id % 50);
+        supplier.setName("Supplier " + (id % 50));
+        supplier.setContactInfo("orders@supplier" + (id % 50) + ".example");
+
+        Product product = new Product();
+        product.setProductId(id);
+        product.setName("Product " + id);
+        product.setSku("SKU-" + id);
+        product.setDescription("Benchmark product number " + id);
+        product.setPurchasePrice(10.0 + id % 100);
+        product.setSellingPrice(15.0 + id % 100);
+        product.setCategory(category);
+        product.setSupplier(supplier);
+        return product;
+    }
+
+    static Inventory inventory(long id) {
+        Inventory inventory = new Inventory();
+        inventory.setInventoryId(id);
+        inventory.setProduct(product(id));
+        inventory.setQuantityInStock((int) (id % 500));
+        inventory.setLowStockThreshold(25);
+        inventory.setCreatedAt(LocalDateTime.of(2025, 1, 1, 8, 0));
+        inventory.setLastUpdated(LocalDateTime.of(2025, 6, 1, 12, 30));
+        return inventory;
+    }
+
+    static List<ProductDTO> productDtos(int count) {
+        List<ProductDTO> dtos = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Product product = product(id);
+            dtos.add(new ProductDTO(product.getProductId(), product.getName(), product.getSku(), product.getDescription(),
+                    product.getPurchasePrice(), product.getSellingPrice(), 0L,
+                    product.getCategory().getCategoryId(), product.getCategory().getName(),
+                    product.getSupplier().getSupplierId(), product.getSupplier().getName(), product.getSupplier().getContactInfo()));
+        }
+        return dtos;
+    }
+
+    static List<InventoryDTO> inventoryDtos(int count) {
+        List<InventoryDTO> dtos = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Inventory inventory = inventory(id);
+            Product product = inventory.getProduct();
+            dtos.add(new InventoryDTO(inventory.getInventoryId(), inventory.getQuantityInStock(), inventory.getLowStockThreshold(),
+                    inventory.getCreatedAt(), inventory.getLastUpdated(), 0L,
+                    product.getProductId(), product.getName(), product.getSku(), product.getDescription(), 0L));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.inventory.benchmark;
+
+import com.example.inventory.controller.InventoryController;
+import com.example.inventory.controller.ProductController;
+import com.example.inventory.dto.inventory.InventoryDTO;
+import com.example.inventory.dto.product.ProductDTO;
+import com.example.inventory.entity.Inventory;
+import com.example.inventory.entity.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+// Entity-to-DTO mapping used by the controller write paths (convertToDto is private, so it is reached through a method handle)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private static final MethodHandle PRODUCT_TO_DTO = converter(ProductController.class, Product.class, ProductDTO.class);
+    private static final MethodHandle INVENTORY_TO_DTO = converter(InventoryController.class, Inventory.class, InventoryDTO.class);
+
+    private final ProductController productController = new ProductController();
+    private final InventoryController inventoryController = new InventoryController();
+    private Product product;
+    private Inventory inventory;
+
+    @Setup
+    public void setUp() {
+        product = BenchmarkData.product(42);
+        inventory = BenchmarkData.inventory(42);
+    }
+
+    @Benchmark
+    public ProductDTO productToDto() throws Throwable {
+        return (ProductDTO) PRODUCT_TO_DTO.invokeExact(productController, product);
+    }
+
+    @Benchmark
+    public InventoryDTO inventoryToDto() throws Throwable {
+        return (InventoryDTO) INVENTORY_TO_DTO.invokeExact(inventoryController, inventory);
+    }
+
+    private static MethodHandle converter(Class<?> controller, Class<?> entity, Class<?> dto) {
+        try {
+            return MethodHandles.privateLookupIn(controller, MethodHandles.lookup())
+                    .findVirtual(controller, "convertToDto", MethodType.methodType(dto, entity));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot access " + controller.getSimpleName() + ".convertToDto", e);
+        }
+    }
+}
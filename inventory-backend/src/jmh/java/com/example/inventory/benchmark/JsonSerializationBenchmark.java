@@ -0,0 +1,59 @@
+package com.example.inventory.benchmark;
+
+import com.example.inventory.dto.common.CursorPageDTO;
+import com.example.inventory.dto.inventory.InventoryDTO;
+import com.example.inventory.dto.product.ProductDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialization of the list responses, at the default and the maximum page size
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    // Same settings Spring Boot applies to the MVC ObjectMapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private CursorPageDTO<ProductDTO> productPage;
+    private CursorPageDTO<InventoryDTO> inventoryPage;
+    private List<InventoryDTO> lowStockList;
+
+    @Setup
+    public void setUp() {
+        List<ProductDTO> products = BenchmarkData.productDtos(pageSize);
+        List<InventoryDTO> inventory = BenchmarkData.inventoryDtos(pageSize);
+        productPage = new CursorPageDTO<>(products, (long) pageSize, true, pageSize);
+        inventoryPage = new CursorPageDTO<>(inventory, (long) pageSize, true, pageSize);
+        lowStockList = inventory;
+    }
+
+    @Benchmark
+    public byte[] productPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(productPage);
+    }
+
+    @Benchmark
+    public byte[] inventoryPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(inventoryPage);
+    }
+
+    @Benchmark
+    public byte[] lowStockList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(lowStockList);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.inventory.benchmark;
+
+import com.example.inventory.InventoryBackendApplication;
+import com.example.inventory.entity.Category;
+import com.example.inventory.entity.Product;
+import com.example.inventory.entity.Supplier;
+import com.example.inventory.entity.User;
+import com.example.inventory.service.CategoryService;
+import com.example.inventory.service.ProductService;
+import com.example.inventory.service.SupplierService;
+import com.example.inventory.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Service-layer write paths running in a full application context on the embedded database
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceWriteBenchmark {
+
+    private static final String USERNAME = "benchmark-user";
+    private static final String PASSWORD = "benchmark-password";
+
+    private final AtomicLong skuSequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private UserService userService;
+    private Long categoryId;
+    private Long supplierId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(InventoryBackendApplication.class)
+                .properties(BenchmarkData.EMBEDDED_DATABASE_PROPERTIES)
+                .run();
+        productService = context.getBean(ProductService.class);
+        userService = context.getBean(UserService.class);
+
+        Category category = new Category();
+        category.setName("Benchmark category");
+        categoryId = context.getBean(CategoryService.class).createCategory(category).getCategoryId();
+
+        Supplier supplier = new Supplier();
+        supplier.setName("Benchmark supplier");
+        supplierId = context.getBean(SupplierService.class).createSupplier(supplier).getSupplierId();
+
+        User user = new User();
+        user.setUsername(USERNAME);
+        user.setPassword(PASSWORD);
+        userService.registerUser(user);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Product createProduct() {
+        Category category = new Category();
+        category.setCategoryId(categoryId);
+        Supplier supplier = new Supplier();
+        supplier.setSupplierId(supplierId);
+
+        Product product = new Product();
+        product.setName("Benchmark product");
+        product.setSku("BENCH-" + skuSequence.incrementAndGet());
+        product.setPurchasePrice(10.0);
+        product.setSellingPrice(12.5);
+        product.setCategory(category);
+        product.setSupplier(supplier);
+        return productService.createProduct(product);
+    }
+
+    @Benchmark
+    public User loginUser() {
+        return userService.loginUser(USERNAME, PASSWORD);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.inventory.config;
+
+import com.example.inventory.filter.DatabaseAdmissionFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Configuration
+@ConditionalOnProperty(name = "inventory.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    public FilterRegistrationBean<DatabaseAdmissionFilter> databaseAdmissionFilter(
+            @Value("${inventory.admission.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${inventory.admission.max-wait:50ms}") Duration maxWait,
+            @Value("${inventory.admission.excluded-paths:/api/inventory/stream}") Set<String> excludedPaths,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<DatabaseAdmissionFilter> registration = new FilterRegistrationBean<>(
+                new DatabaseAdmissionFilter(maxConcurrent, maxWait, excludedPaths, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        // After the metrics filter so rejected requests still show up in http.server.requests
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.inventory.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Cache names used by the @Cacheable/@CacheEvict annotations in the services
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORY_LIST = "categoryList";
+    public static final String SUPPLIERS = "suppliers";
+    public static final String SUPPLIER_LIST = "supplierList";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${inventory.cache.reference-data.maximum-size:10000}") long maximumSize,
+                                     @Value("${inventory.cache.reference-data.expire-after-write:10m}") Duration expireAfterWrite) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(CATEGORIES, CATEGORY_LIST, SUPPLIERS, SUPPLIER_LIST);
+        caffeineCacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite) // Safety net for rows changed outside this application
+                .recordStats()); // Feeds the cache.gets hit/miss metrics exposed through actuator
+        // Puts and evictions made inside a transaction are applied only after it commits,
+        // so a concurrent reader cannot re-cache a row that is about to change
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.inventory.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background jobs such as the periodic stock ledger snapshots
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
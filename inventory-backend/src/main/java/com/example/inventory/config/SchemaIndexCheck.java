@@ -0,0 +1,105 @@
+package com.example.inventory.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Fails startup when an index the query paths rely on is missing or invalid (for example a failed concurrent rebuild,
+// or a database whose schema was altered by hand), instead of letting the affected queries silently degrade into
+// sequential scans. Runs after the Flyway migrations: Spring Boot makes JdbcTemplate depend on them.
+// The check reads the PostgreSQL catalogs, so it is skipped on any other database (e.g. the benchmarks' H2).
+@Component
+public class SchemaIndexCheck {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaIndexCheck.class);
+
+    // Named indexes created by the migrations, with the query path each one serves
+    static final Map<String, String> EXPECTED_INDEXES = Map.ofEntries(
+            Map.entry("idx_products_category", "category filters, category delete checks and version bumps"),
+            Map.entry("idx_products_supplier", "supplier filters, supplier delete checks and version bumps"),
+            Map.entry("idx_products_sku_pattern", "SKU prefix filters"),
+            Map.entry("idx_inventory_low_stock", "GET /api/inventory/low-stock"),
+            Map.entry("idx_inventory_last_updated", "GET /api/inventory/changes"),
+            Map.entry("idx_inventory_tombstones_deleted_at_id", "deletions in GET /api/inventory/changes"),
+            Map.entry("idx_stock_movements_product_time_movement", "per-product ledger pages and stock level as of a past time"),
+            Map.entry("idx_stock_movements_time_delta", "the ledger snapshot job"),
+            Map.entry("idx_stock_reservations_active_expiry", "reservation expiry"),
+            Map.entry("idx_stock_reservations_product", "product delete checks against reservations"));
+
+    // Single-column unique indexes; their names differ between Flyway- and ddl-auto-created schemas, so they are
+    // matched by column. The uniqueness checks and their Bloom filters rely on these as the final guard.
+    static final Map<String, String> EXPECTED_UNIQUE_COLUMNS = Map.of(
+            "products", "sku",
+            "categories", "name",
+            "suppliers", "name",
+            "users", "username",
+            "inventory", "product_id");
+
+    private static final String VALID_INDEXES_SQL = """
+            SELECT c.relname
+            FROM pg_index i
+            JOIN pg_class c ON c.oid = i.indexrelid
+            JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE n.nspname = current_schema() AND i.indisvalid
+            """;
+
+    private static final String UNIQUE_COLUMNS_SQL = """
+            SELECT t.relname || '.' || a.attname
+            FROM pg_index i
+            JOIN pg_class t ON t.oid = i.indrelid
+            JOIN pg_namespace n ON n.oid = t.relnamespace
+            JOIN pg_attribute a ON a.attrelid = t.oid AND a.attnum = i.indkey[0]
+            WHERE n.nspname = current_schema() AND i.indisunique AND i.indisvalid AND i.indnkeyatts = 1
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${inventory.schema.verify-indexes:true}")
+    private boolean enabled;
+
+    @PostConstruct
+    public void verify() {
+        if (!enabled) {
+            log.warn("Index verification is disabled (inventory.schema.verify-indexes=false)");
+            return;
+        }
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            log.warn("Index verification skipped: it only supports PostgreSQL, not {}", database);
+            return;
+        }
+        Set<String> indexes = new HashSet<>(jdbcTemplate.queryForList(VALID_INDEXES_SQL, String.class));
+        Set<String> uniqueColumns = new HashSet<>(jdbcTemplate.queryForList(UNIQUE_COLUMNS_SQL, String.class));
+
+        List<String> problems = new ArrayList<>();
+        EXPECTED_INDEXES.forEach((index, usedBy) -> {
+            if (!indexes.contains(index)) {
+                problems.add(index + " (used by " + usedBy + ")");
+            }
+        });
+        EXPECTED_UNIQUE_COLUMNS.forEach((table, column) -> {
+            if (!uniqueColumns.contains(table + "." + column)) {
+                problems.add("unique index on " + table + "." + column);
+            }
+        });
+        if (!problems.isEmpty()) {
+            problems.sort(null);
+            throw new IllegalStateException("Missing or invalid database indexes: " + String.join(", ", problems)
+                    + ". Run the migrations (or REINDEX invalid indexes) before starting the application.");
+        }
+        log.info("Verified {} indexes and {} unique constraints", EXPECTED_INDEXES.size(), EXPECTED_UNIQUE_COLUMNS.size());
+    }
+}
@@ -1,10 +1,16 @@
 package com.example.inventory.config;
 
+import com.example.inventory.filter.BearerTokenAuthenticationFilter;
+import com.example.inventory.security.AuthTokenService;
+import com.example.inventory.security.CachingBasicAuthenticationProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder; // Import for BCryptPasswordEncoder
 import org.springframework.security.crypto.password.PasswordEncoder; // Import for PasswordEncoder
 
@@ -15,7 +21,9 @@ import static org.springframework.security.config.Customizer.withDefaults;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AuthTokenService authTokenService,
+                                           CachingBasicAuthenticationProvider basicAuthenticationProvider,
+                                           ObjectMapper objectMapper) throws Exception {
         http
                 .authorizeHttpRequests((authz) -> authz
                         // Permit all requests for now. This should be refined for production.
@@ -25,7 +33,11 @@ public class SecurityConfig {
                         // .anyRequest().denyAll()
                         .anyRequest().permitAll() // Allow all requests without authentication for initial setup
                 )
+                // Bearer tokens from POST /api/users/login are checked first, from the token alone
+                .addFilterBefore(new BearerTokenAuthenticationFilter(authTokenService, objectMapper), BasicAuthenticationFilter.class)
                 .httpBasic(withDefaults()) // Basic HTTP authentication
+                // Only the caching provider, so a wrong password is not BCrypt-checked a second time by a fallback
+                .authenticationManager(new ProviderManager(basicAuthenticationProvider))
                 .csrf((csrf) -> csrf.disable()); // Disable CSRF for simplicity (re-evaluate for production)
         return http.build();
     }
@@ -1,9 +1,12 @@
 package com.example.inventory.controller;
 
 import com.example.inventory.dto.category.CategoryDTO;
+import com.example.inventory.dto.category.CategoryView;
 import com.example.inventory.dto.category.CreateCategoryRequest;
 import com.example.inventory.dto.category.UpdateCategoryRequest;
 import com.example.inventory.entity.Category;
+import com.example.inventory.dto.common.DependencyReportDTO;
+import com.example.inventory.service.DependencyCheckService;
 import com.example.inventory.service.CategoryService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +23,8 @@ public class CategoryController {
 
     @Autowired
     private CategoryService categoryService;
+    @Autowired
+    private DependencyCheckService dependencyCheckService;
 
     // Helper method to convert Category entity to CategoryDTO
     private CategoryDTO convertToDto(Category category) {
@@ -29,6 +34,13 @@ public class CategoryController {
         return dto;
     }
 
+    private CategoryDTO convertToDto(CategoryView category) {
+        CategoryDTO dto = new CategoryDTO();
+        dto.setCategoryId(category.categoryId());
+        dto.setName(category.name());
+        return dto;
+    }
+
     // Helper method to convert CreateCategoryRequest to Category entity
     private Category convertToEntity(CreateCategoryRequest dto) {
         Category category = new Category();
@@ -46,7 +58,7 @@ public class CategoryController {
 
     @GetMapping
     public ResponseEntity<List<CategoryDTO>> getAllCategories() {
-        List<Category> categories = categoryService.getAllCategories();
+        List<CategoryView> categories = categoryService.getAllCategories();
         List<CategoryDTO> categoryDTOs = categories.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
@@ -64,7 +76,7 @@ public class CategoryController {
     @GetMapping("/{id}")
     public ResponseEntity<CategoryDTO> getCategoryById(@PathVariable Long id) {
         // Service will throw ResourceNotFoundException if not found
-        Category category = categoryService.getCategoryById(id);
+        CategoryView category = categoryService.getCategoryById(id);
         return new ResponseEntity<>(convertToDto(category), HttpStatus.OK);
     }
 
@@ -78,6 +90,14 @@ public class CategoryController {
         return new ResponseEntity<>(convertToDto(savedCategory), HttpStatus.OK);
     }
 
+    // Cascade preview: what a delete would run into, as capped counts per dependent type
+    @GetMapping("/{id}/dependents")
+    public ResponseEntity<DependencyReportDTO> getCategoryDependents(@PathVariable Long id) {
+        // Service will throw ResourceNotFoundException if not found
+        DependencyReportDTO report = dependencyCheckService.preview(DependencyCheckService.Resource.CATEGORY, id);
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteCategory(@PathVariable Long id) {
         // Service will throw ResourceNotFoundException or InvalidOperationException
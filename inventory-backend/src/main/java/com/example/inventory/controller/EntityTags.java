@@ -0,0 +1,70 @@
+package com.example.inventory.controller;
+
+import com.example.inventory.dto.inventory.InventoryDTO;
+import com.example.inventory.dto.product.ProductDTO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Function;
+
+// Strong ETags built from row versions (see V8__entity_versions.sql), so validating a cached copy needs no body.
+// A GET response carrying one is answered with 304 by Spring MVC when If-None-Match matches, before serialization.
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    static String product(ProductDTO dto) {
+        return quote(dto.getProductId() + "-" + dto.getVersion());
+    }
+
+    // The payload embeds product fields, so the product's version is part of the tag
+    static String inventory(InventoryDTO dto) {
+        return quote(dto.getInventoryId() + "-" + dto.getVersion() + "-" + dto.getProduct().getVersion());
+    }
+
+    // Digest of every item's tag plus the rest of the payload (cursor, page size), in order
+    static <T> String list(List<T> items, Function<T, String> tagOf, Object... rest) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (T item : items) {
+                digest.update(tagOf.apply(item).getBytes(StandardCharsets.US_ASCII));
+            }
+            for (Object part : rest) {
+                digest.update((byte) 0);
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            }
+            return quote(HexFormat.of().formatHex(digest.digest(), 0, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // If-Match uses strong comparison: "*" or a comma-separated list of tags, where weak (W/) tags never match
+    static boolean matches(String ifMatch, String etag) {
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static <T> ResponseEntity<T> ok(T body, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        headers.setCacheControl("no-cache"); // Cache, but revalidate every time
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
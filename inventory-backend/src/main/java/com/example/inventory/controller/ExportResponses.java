@@ -0,0 +1,55 @@
+package com.example.inventory.controller;
+
+import com.example.inventory.service.exports.ExportFormat;
+import com.example.inventory.service.exports.ExportSlot;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+// Response headers shared by the export endpoints. A gzip export is a .gz download rather than a Content-Encoding,
+// so clients keep the compressed file as is.
+final class ExportResponses {
+
+    private ExportResponses() {
+    }
+
+    static ResponseEntity<StreamingResponseBody> attachment(String baseName, ExportFormat format, boolean gzip,
+                                                            Duration timeout, ExportSlot slot, StreamingResponseBody body) {
+        // StreamingResponseBody has no timeout of its own. Set it on this request's async processing just before it
+        // starts, rather than raising spring.mvc.async.request-timeout for every async request.
+        // afterCompletion runs however the request ends, so a slot whose export never started is handed back.
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        WebAsyncUtils.getAsyncManager(attributes.getRequest()).registerCallableInterceptor(ExportResponses.class,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                        if (request instanceof AsyncWebRequest asyncRequest) {
+                            asyncRequest.setTimeout(timeout.toMillis());
+                        }
+                    }
+
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                        slot.releaseIfNotStarted();
+                    }
+                });
+
+        String fileName = baseName + "." + format.getExtension() + (gzip ? ".gz" : "");
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_TYPE, gzip ? "application/gzip" : format.getContentType() + ";charset=UTF-8");
+        headers.setContentDisposition(ContentDisposition.attachment().filename(fileName).build());
+        headers.setCacheControl("no-store");
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+}
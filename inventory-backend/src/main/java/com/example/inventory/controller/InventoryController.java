@@ -1,32 +1,74 @@
 package com.example.inventory.controller;
 
+import com.example.inventory.dto.common.BatchGetItemDTO;
+import com.example.inventory.dto.common.BatchGetRequest;
+import com.example.inventory.dto.common.CursorPageDTO;
+import com.example.inventory.dto.inventory.AdjustInventoryRequest;
+import com.example.inventory.dto.inventory.BulkAdjustRequest;
+import com.example.inventory.dto.inventory.BulkAdjustResultDTO;
 import com.example.inventory.dto.inventory.CreateInventoryRequest;
+import com.example.inventory.dto.inventory.HotSkuDTO;
+import com.example.inventory.dto.inventory.InventoryAdjustmentDTO;
+import com.example.inventory.dto.inventory.InventoryChangesDTO;
 import com.example.inventory.dto.inventory.InventoryDTO;
+import com.example.inventory.dto.inventory.StockAvailabilityDTO;
 import com.example.inventory.dto.inventory.UpdateInventoryRequest;
+import com.example.inventory.dto.ledger.StockLevelAsOfDTO;
+import com.example.inventory.dto.ledger.StockMovementDTO;
 import com.example.inventory.dto.product.ProductDTO;
 import com.example.inventory.entity.Inventory;
 import com.example.inventory.entity.Product;
+import com.example.inventory.exception.PreconditionFailedException;
+import com.example.inventory.service.ExportService;
+import com.example.inventory.service.HotSkuService;
+import com.example.inventory.service.InventoryBulkAdjustService;
+import com.example.inventory.service.InventoryChangeStream;
 import com.example.inventory.service.InventoryService;
+import com.example.inventory.service.Paging;
 import com.example.inventory.service.ProductService;
+import com.example.inventory.service.StockLedgerService;
+import com.example.inventory.service.exports.ExportFormat;
+import com.example.inventory.service.exports.ExportSlot;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/inventory")
 public class InventoryController {
 
+    @Autowired
+    private ExportService exportService;
+
     @Autowired
     private InventoryService inventoryService;
 
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private InventoryChangeStream inventoryChangeStream;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private HotSkuService hotSkuService;
+
+    @Autowired
+    private InventoryBulkAdjustService inventoryBulkAdjustService;
+
     // Helper method to convert Product entity to ProductDTO for nesting in InventoryDTO
     private ProductDTO convertProductToDto(Product product) {
         if (product == null) {
@@ -37,6 +79,7 @@ public class InventoryController {
         dto.setName(product.getName());
         dto.setSku(product.getSku());
         dto.setDescription(product.getDescription());
+        dto.setVersion(product.getVersion());
         return dto;
     }
 
@@ -49,6 +92,7 @@ public class InventoryController {
         dto.setLowStockThreshold(inventory.getLowStockThreshold());
         dto.setCreatedAt(inventory.getCreatedAt());
         dto.setLastUpdated(inventory.getLastUpdated());
+        dto.setVersion(inventory.getVersion());
         return dto;
     }
 
@@ -75,19 +119,61 @@ public class InventoryController {
     }
 
     @GetMapping
-    public ResponseEntity<List<InventoryDTO>> getAllInventory() {
-        List<Inventory> inventoryList = inventoryService.getAllInventory();
-        List<InventoryDTO> inventoryDTOs = inventoryList.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        return new ResponseEntity<>(inventoryDTOs, HttpStatus.OK);
+    public ResponseEntity<CursorPageDTO<InventoryDTO>> getAllInventory(
+            @RequestParam(required = false) Long after, // inventoryId of the last row of the previous page
+            @RequestParam(defaultValue = Paging.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long supplierId,
+            @RequestParam(required = false) String skuPrefix,
+            @RequestParam(required = false) Integer minQuantity,
+            @RequestParam(required = false) Integer maxQuantity) {
+        Slice<InventoryDTO> page = inventoryService.getInventoryPage(after, limit, categoryId, supplierId, skuPrefix,
+                minQuantity, maxQuantity);
+        List<InventoryDTO> inventoryDTOs = page.getContent();
+        Long nextCursor = page.hasNext() ? inventoryDTOs.get(inventoryDTOs.size() - 1).getInventoryId() : null;
+        return EntityTags.ok(new CursorPageDTO<>(inventoryDTOs, nextCursor, page.hasNext(), page.getSize()),
+                EntityTags.list(inventoryDTOs, EntityTags::inventory, nextCursor, page.hasNext(), page.getSize()));
+    }
+
+    // Full stock valuation export streamed from a database cursor (csv or ndjson, optionally gzipped)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportInventory(@RequestParam(defaultValue = "csv") String format,
+                                                       @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        ExportSlot slot = exportService.reserveSlot(); // Throws ServiceBusyException when every export slot is taken
+        return ExportResponses.attachment("inventory", exportFormat, gzip, exportService.getTimeout(), slot,
+                out -> exportService.exportInventory(slot, exportFormat, gzip, out));
+    }
+
+    // Incremental sync: rows changed and deleted since the watermark from the previous response.
+    // Omit 'since' for the first sync; keep calling with the returned watermark and afterId while hasMore is true.
+    // A watermark older than the tombstone retention window is rejected; the client has to start over without 'since'.
+    @GetMapping("/changes")
+    public ResponseEntity<InventoryChangesDTO> getInventoryChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = Paging.DEFAULT_LIMIT) int limit) {
+        return new ResponseEntity<>(inventoryService.getChangesSince(since, afterId, limit), HttpStatus.OK);
+    }
+
+    // Inventory for many products in one round trip, by product ID or SKU; unknown keys come back with found=false
+    @PostMapping("/batch-get")
+    public ResponseEntity<List<BatchGetItemDTO<InventoryDTO>>> batchGetInventory(@Valid @RequestBody BatchGetRequest batchGetRequest) {
+        // Service will throw InvalidOperationException unless exactly one of ids or skus is given
+        return new ResponseEntity<>(inventoryService.batchGetInventory(batchGetRequest), HttpStatus.OK);
     }
 
     @GetMapping("/{productId}") // Endpoint to get inventory by Product ID
     public ResponseEntity<InventoryDTO> getInventoryByProductId(@PathVariable Long productId) {
         // Service will throw ResourceNotFoundException if not found
-        Inventory inventory = inventoryService.getInventoryByProductId(productId);
-        return new ResponseEntity<>(convertToDto(inventory), HttpStatus.OK);
+        InventoryDTO inventory = inventoryService.getInventoryDtoByProductId(productId);
+        return EntityTags.ok(inventory, EntityTags.inventory(inventory));
+    }
+
+    @GetMapping("/{productId}/availability") // On-hand, reserved and available-to-promise quantities
+    public ResponseEntity<StockAvailabilityDTO> getAvailability(@PathVariable Long productId) {
+        // Service will throw ResourceNotFoundException if not found
+        return new ResponseEntity<>(inventoryService.getAvailability(productId), HttpStatus.OK);
     }
 
     @PostMapping
@@ -99,21 +185,93 @@ public class InventoryController {
     }
 
     @PutMapping("/{productId}")
-    public ResponseEntity<InventoryDTO> updateInventory(@PathVariable Long productId, @Valid @RequestBody UpdateInventoryRequest updateInventoryRequest) {
-        // Service will throw ResourceNotFoundException
+    public ResponseEntity<InventoryDTO> updateInventory(@PathVariable Long productId,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                        @Valid @RequestBody UpdateInventoryRequest updateInventoryRequest) {
+        // Service will throw ResourceNotFoundException, or PreconditionFailedException when If-Match no longer matches
+        Long expectedVersion = null;
+        if (ifMatch != null) {
+            InventoryDTO current = inventoryService.getInventoryDtoByProductId(productId);
+            if (!EntityTags.matches(ifMatch, EntityTags.inventory(current))) {
+                throw new PreconditionFailedException("Inventory for product ID " + productId + " has changed; its current ETag is " + EntityTags.inventory(current) + ".");
+            }
+            expectedVersion = current.getVersion();
+        }
         Inventory existingInventory = new Inventory(); // Dummy entity
         Inventory updatedInventoryEntity = convertToEntity(updateInventoryRequest, existingInventory);
-        Inventory savedInventory = inventoryService.updateInventory(productId, updatedInventoryEntity);
-        return new ResponseEntity<>(convertToDto(savedInventory), HttpStatus.OK);
+        InventoryDTO savedInventory = convertToDto(inventoryService.updateInventory(productId, updatedInventoryEntity, expectedVersion));
+        return EntityTags.ok(savedInventory, EntityTags.inventory(savedInventory));
+    }
+
+    @PostMapping("/{productId}/adjust")
+    public ResponseEntity<InventoryAdjustmentDTO> adjustInventory(@PathVariable Long productId, @Valid @RequestBody AdjustInventoryRequest adjustInventoryRequest) {
+        // Service will throw ResourceNotFoundException or InvalidOperationException (insufficient stock)
+        int delta = adjustInventoryRequest.getDelta();
+        int newQuantity = inventoryService.adjustStock(productId, delta, adjustInventoryRequest.getType(),
+                adjustInventoryRequest.getReference());
+        return new ResponseEntity<>(new InventoryAdjustmentDTO(productId, delta, newQuantity), HttpStatus.OK);
+    }
+
+    // Cycle counts: many corrections in one call, each a delta or a counted absolute quantity.
+    // Rows fail individually; the result lists every entry's outcome in request order.
+    @PostMapping("/bulk-adjust")
+    public ResponseEntity<BulkAdjustResultDTO> bulkAdjustInventory(@Valid @RequestBody BulkAdjustRequest bulkAdjustRequest) {
+        return new ResponseEntity<>(inventoryBulkAdjustService.adjust(bulkAdjustRequest), HttpStatus.OK);
+    }
+
+    @GetMapping("/{productId}/movements") // Stock ledger for one product, oldest first
+    public ResponseEntity<CursorPageDTO<StockMovementDTO>> getStockMovements(
+            @PathVariable Long productId,
+            @RequestParam(required = false) Long after, // movementId of the last row of the previous page
+            @RequestParam(defaultValue = Paging.DEFAULT_LIMIT) int limit) {
+        Slice<StockMovementDTO> page = stockLedgerService.getMovements(productId, after, limit);
+        List<StockMovementDTO> movements = page.getContent();
+        Long nextCursor = page.hasNext() ? movements.get(movements.size() - 1).getMovementId() : null;
+        return new ResponseEntity<>(new CursorPageDTO<>(movements, nextCursor, page.hasNext(), page.getSize()), HttpStatus.OK);
+    }
+
+    // Stock level at a past moment, rebuilt from the latest snapshot before it plus the movements since.
+    // History starts when the ledger was introduced; moments before that report zero.
+    @GetMapping("/{productId}/as-of")
+    public ResponseEntity<StockLevelAsOfDTO> getStockAsOf(
+            @PathVariable Long productId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return new ResponseEntity<>(stockLedgerService.getStockAsOf(productId, at), HttpStatus.OK);
+    }
+
+    // Server-Sent Events feed of committed inventory changes, replacing polling of GET /api/inventory.
+    // Optional filters narrow the feed to one product, one category or rows that are currently low on stock.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamInventoryChanges(@RequestParam(required = false) Long productId,
+                                             @RequestParam(required = false) Long categoryId,
+                                             @RequestParam(defaultValue = "false") boolean lowStockOnly) {
+        return inventoryChangeStream.subscribe(productId, categoryId, lowStockOnly);
+    }
+
+    // Hot-SKU mode: stock for flash-sale products is kept in memory and written to the database in the background.
+    // While enabled, only the adjust endpoint may change the product's stock.
+    @GetMapping("/hot")
+    public ResponseEntity<List<HotSkuDTO>> getHotSkus() {
+        return new ResponseEntity<>(hotSkuService.getHotSkus(), HttpStatus.OK);
+    }
+
+    @PutMapping("/{productId}/hot")
+    public ResponseEntity<HotSkuDTO> enableHotSku(@PathVariable Long productId) {
+        // Service will throw ResourceNotFoundException, DuplicateResourceException, or InvalidOperationException
+        return new ResponseEntity<>(hotSkuService.enable(productId), HttpStatus.OK);
+    }
+
+    @DeleteMapping("/{productId}/hot")
+    public ResponseEntity<Void> disableHotSku(@PathVariable Long productId) {
+        // Service will throw ResourceNotFoundException if the product is not hot
+        hotSkuService.disable(productId);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
     @GetMapping("/low-stock")
     public ResponseEntity<List<InventoryDTO>> getLowStockProducts() {
-        List<Inventory> lowStockProducts = inventoryService.getLowStockProducts();
-        List<InventoryDTO> lowStockDTOs = lowStockProducts.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        return new ResponseEntity<>(lowStockDTOs, HttpStatus.OK);
+        List<InventoryDTO> lowStock = inventoryService.getLowStockProducts();
+        return EntityTags.ok(lowStock, EntityTags.list(lowStock, EntityTags::inventory));
     }
 
     @DeleteMapping("/{id}") // Endpoint to delete inventory by its own inventoryId
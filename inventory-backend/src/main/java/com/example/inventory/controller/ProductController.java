@@ -1,30 +1,61 @@
 package com.example.inventory.controller;
 
+import com.example.inventory.dto.common.BatchGetItemDTO;
+import com.example.inventory.dto.common.BatchGetRequest;
+import com.example.inventory.dto.common.CursorPageDTO;
+import com.example.inventory.dto.common.DependencyReportDTO;
+import com.example.inventory.dto.imports.ImportResultDTO;
 import com.example.inventory.dto.product.CreateProductRequest;
 import com.example.inventory.dto.product.ProductDTO;
+import com.example.inventory.dto.product.ProductSearchHitDTO;
+import com.example.inventory.dto.product.ProductSuggestionDTO;
 import com.example.inventory.dto.product.UpdateProductRequest;
 import com.example.inventory.dto.category.CategoryDTO;
 import com.example.inventory.dto.supplier.SupplierDTO;
 import com.example.inventory.entity.Product;
 import com.example.inventory.entity.Category;
 import com.example.inventory.entity.Supplier;
+import com.example.inventory.exception.PreconditionFailedException;
+import com.example.inventory.service.DependencyCheckService;
+import com.example.inventory.service.ExportService;
+import com.example.inventory.service.Paging;
+import com.example.inventory.service.ProductImportService;
+import com.example.inventory.service.ProductSearchService;
 import com.example.inventory.service.ProductService;
+import com.example.inventory.service.exports.ExportFormat;
+import com.example.inventory.service.exports.ExportSlot;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
 
+    @Autowired
+    private ExportService exportService;
+
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private DependencyCheckService dependencyCheckService;
+
     // Helper method to convert Category entity to CategoryDTO
     private CategoryDTO convertCategoryToDto(Category category) {
         if (category == null) return null;
@@ -55,6 +86,7 @@ public class ProductController {
         dto.setSellingPrice(product.getSellingPrice());
         dto.setCategory(convertCategoryToDto(product.getCategory()));
         dto.setSupplier(convertSupplierToDto(product.getSupplier()));
+        dto.setVersion(product.getVersion());
         return dto;
     }
 
@@ -102,19 +134,55 @@ public class ProductController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ProductDTO>> getAllProducts() {
-        List<Product> products = productService.getAllProducts();
-        List<ProductDTO> productDTOs = products.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        return new ResponseEntity<>(productDTOs, HttpStatus.OK);
+    public ResponseEntity<CursorPageDTO<ProductDTO>> getAllProducts(
+            @RequestParam(required = false) Long after, // productId of the last row of the previous page
+            @RequestParam(defaultValue = Paging.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long supplierId,
+            @RequestParam(required = false) String skuPrefix) {
+        Slice<ProductDTO> page = productService.getProductsPage(after, limit, categoryId, supplierId, skuPrefix);
+        List<ProductDTO> productDTOs = page.getContent();
+        Long nextCursor = page.hasNext() ? productDTOs.get(productDTOs.size() - 1).getProductId() : null;
+        return EntityTags.ok(new CursorPageDTO<>(productDTOs, nextCursor, page.hasNext(), page.getSize()),
+                EntityTags.list(productDTOs, EntityTags::product, nextCursor, page.hasNext(), page.getSize()));
+    }
+
+    // Full catalog export streamed from a database cursor (csv or ndjson, optionally gzipped), for finance pulls
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "csv") String format,
+                                                       @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        ExportSlot slot = exportService.reserveSlot(); // Throws ServiceBusyException when every export slot is taken
+        return ExportResponses.attachment("products", exportFormat, gzip, exportService.getTimeout(), slot,
+                out -> exportService.exportProducts(slot, exportFormat, gzip, out));
+    }
+
+    // Ranked search over name, SKU and description; tolerates typos and treats the last word as a prefix
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductSearchHitDTO>> searchProducts(@RequestParam String q,
+                                                                    @RequestParam(defaultValue = "20") int limit) {
+        return new ResponseEntity<>(productSearchService.search(q, limit), HttpStatus.OK);
+    }
+
+    // Type-ahead suggestions (ID, name, SKU) for a partially typed name or SKU
+    @GetMapping("/search/autocomplete")
+    public ResponseEntity<List<ProductSuggestionDTO>> autocompleteProducts(@RequestParam String prefix,
+                                                                           @RequestParam(defaultValue = "10") int limit) {
+        return new ResponseEntity<>(productSearchService.autocomplete(prefix, limit), HttpStatus.OK);
+    }
+
+    // Many products in one round trip, e.g. all line items of an order; unknown keys come back with found=false
+    @PostMapping("/batch-get")
+    public ResponseEntity<List<BatchGetItemDTO<ProductDTO>>> batchGetProducts(@Valid @RequestBody BatchGetRequest batchGetRequest) {
+        // Service will throw InvalidOperationException unless exactly one of ids or skus is given
+        return new ResponseEntity<>(productService.batchGetProducts(batchGetRequest), HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id) {
         // Service will throw ResourceNotFoundException if not found
-        Product product = productService.getProductById(id);
-        return new ResponseEntity<>(convertToDto(product), HttpStatus.OK);
+        ProductDTO product = productService.getProductDtoById(id);
+        return EntityTags.ok(product, EntityTags.product(product));
     }
 
     @PostMapping
@@ -126,12 +194,42 @@ public class ProductController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<ProductDTO> updateProduct(@PathVariable Long id, @Valid @RequestBody UpdateProductRequest updateProductRequest) {
-        // Service will throw ResourceNotFoundException, DuplicateResourceException, or InvalidOperationException
+    public ResponseEntity<ProductDTO> updateProduct(@PathVariable Long id,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                    @Valid @RequestBody UpdateProductRequest updateProductRequest) {
+        // Service will throw ResourceNotFoundException, DuplicateResourceException, InvalidOperationException,
+        // or PreconditionFailedException when If-Match no longer matches
+        Long expectedVersion = null;
+        if (ifMatch != null) {
+            ProductDTO current = productService.getProductDtoById(id);
+            if (!EntityTags.matches(ifMatch, EntityTags.product(current))) {
+                throw new PreconditionFailedException("Product ID " + id + " has changed; its current ETag is " + EntityTags.product(current) + ".");
+            }
+            expectedVersion = current.getVersion();
+        }
         Product existingProduct = new Product(); // Dummy entity
         Product updatedProductEntity = convertToEntity(updateProductRequest, existingProduct);
-        Product savedProduct = productService.updateProduct(id, updatedProductEntity);
-        return new ResponseEntity<>(convertToDto(savedProduct), HttpStatus.OK);
+        ProductDTO savedProduct = convertToDto(productService.updateProduct(id, updatedProductEntity, expectedVersion));
+        return EntityTags.ok(savedProduct, EntityTags.product(savedProduct));
+    }
+
+    // Bulk catalog import. The body is streamed; rows with an optional quantityInStock also get an inventory record.
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportResultDTO> importProductsCsv(InputStream body) {
+        return new ResponseEntity<>(productImportService.importCsv(body), HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportResultDTO> importProductsNdjson(InputStream body) {
+        return new ResponseEntity<>(productImportService.importNdjson(body), HttpStatus.OK);
+    }
+
+    // Cascade preview: what a delete would run into, as capped counts per dependent type
+    @GetMapping("/{id}/dependents")
+    public ResponseEntity<DependencyReportDTO> getProductDependents(@PathVariable Long id) {
+        // Service will throw ResourceNotFoundException if not found
+        DependencyReportDTO report = dependencyCheckService.preview(DependencyCheckService.Resource.PRODUCT, id);
+        return new ResponseEntity<>(report, HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,44 @@
+package com.example.inventory.controller;
+
+import com.example.inventory.dto.reservation.ReservationDTO;
+import com.example.inventory.dto.reservation.ReserveStockRequest;
+import com.example.inventory.service.StockReservationService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Checkout holds: reserve at cart time, then commit on payment or release on cancel.
+// Reservations that are neither committed nor released expire after their TTL.
+@RestController
+@RequestMapping("/api/reservations")
+public class ReservationController {
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @PostMapping
+    public ResponseEntity<ReservationDTO> reserveStock(@Valid @RequestBody ReserveStockRequest reserveStockRequest) {
+        // Service will throw ResourceNotFoundException or InvalidOperationException (not enough available stock)
+        return new ResponseEntity<>(stockReservationService.reserve(reserveStockRequest), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReservationDTO> getReservation(@PathVariable Long id) {
+        // Service will throw ResourceNotFoundException if not found
+        return new ResponseEntity<>(stockReservationService.getReservation(id), HttpStatus.OK);
+    }
+
+    @PostMapping("/{id}/commit")
+    public ResponseEntity<ReservationDTO> commitReservation(@PathVariable Long id) {
+        // Service will throw ResourceNotFoundException or InvalidOperationException (no longer active)
+        return new ResponseEntity<>(stockReservationService.commit(id), HttpStatus.OK);
+    }
+
+    @PostMapping("/{id}/release")
+    public ResponseEntity<ReservationDTO> releaseReservation(@PathVariable Long id) {
+        // Service will throw ResourceNotFoundException or InvalidOperationException (no longer active)
+        return new ResponseEntity<>(stockReservationService.release(id), HttpStatus.OK);
+    }
+}
@@ -2,8 +2,11 @@ package com.example.inventory.controller;
 
 import com.example.inventory.dto.supplier.CreateSupplierRequest;
 import com.example.inventory.dto.supplier.SupplierDTO;
+import com.example.inventory.dto.supplier.SupplierView;
 import com.example.inventory.dto.supplier.UpdateSupplierRequest;
 import com.example.inventory.entity.Supplier;
+import com.example.inventory.dto.common.DependencyReportDTO;
+import com.example.inventory.service.DependencyCheckService;
 import com.example.inventory.service.SupplierService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +23,8 @@ public class SupplierController {
 
     @Autowired
     private SupplierService supplierService;
+    @Autowired
+    private DependencyCheckService dependencyCheckService;
 
     // Helper method to convert Supplier entity to SupplierDTO
     private SupplierDTO convertToDto(Supplier supplier) {
@@ -30,6 +35,14 @@ public class SupplierController {
         return dto;
     }
 
+    private SupplierDTO convertToDto(SupplierView supplier) {
+        SupplierDTO dto = new SupplierDTO();
+        dto.setSupplierId(supplier.supplierId());
+        dto.setName(supplier.name());
+        dto.setContactInfo(supplier.contactInfo());
+        return dto;
+    }
+
     // Helper method to convert CreateSupplierRequest to Supplier entity
     private Supplier convertToEntity(CreateSupplierRequest dto) {
         Supplier supplier = new Supplier();
@@ -51,7 +64,7 @@ public class SupplierController {
 
     @GetMapping
     public ResponseEntity<List<SupplierDTO>> getAllSuppliers() {
-        List<Supplier> suppliers = supplierService.getAllSuppliers();
+        List<SupplierView> suppliers = supplierService.getAllSuppliers();
         List<SupplierDTO> supplierDTOs = suppliers.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
@@ -61,7 +74,7 @@ public class SupplierController {
     @GetMapping("/{id}")
     public ResponseEntity<SupplierDTO> getSupplierById(@PathVariable Long id) {
         // Service will throw ResourceNotFoundException if not found
-        Supplier supplier = supplierService.getSupplierById(id);
+        SupplierView supplier = supplierService.getSupplierById(id);
         return new ResponseEntity<>(convertToDto(supplier), HttpStatus.OK);
     }
 
@@ -82,6 +95,14 @@ public class SupplierController {
         return new ResponseEntity<>(convertToDto(savedSupplier), HttpStatus.OK);
     }
 
+    // Cascade preview: what a delete would run into, as capped counts per dependent type
+    @GetMapping("/{id}/dependents")
+    public ResponseEntity<DependencyReportDTO> getSupplierDependents(@PathVariable Long id) {
+        // Service will throw ResourceNotFoundException if not found
+        DependencyReportDTO report = dependencyCheckService.preview(DependencyCheckService.Resource.SUPPLIER, id);
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteSupplier(@PathVariable Long id) {
         // Service will throw ResourceNotFoundException or InvalidOperationException
@@ -1,10 +1,12 @@
 package com.example.inventory.controller;
 
 import com.example.inventory.dto.user.LoginRequest;
+import com.example.inventory.dto.user.LoginResponse;
 import com.example.inventory.dto.user.RegisterUserRequest;
 import com.example.inventory.dto.user.UpdateUserRequest;
 import com.example.inventory.dto.user.UserDTO;
 import com.example.inventory.entity.User;
+import com.example.inventory.security.AuthTokenService;
 import com.example.inventory.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +23,8 @@ public class UserController {
 
     @Autowired
     private UserService userService;
+    @Autowired
+    private AuthTokenService authTokenService;
 
     // Helper method to convert User entity to UserDTO (omits password)
     private UserDTO convertToDto(User user) {
@@ -63,10 +67,14 @@ public class UserController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<UserDTO> loginUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<LoginResponse> loginUser(@Valid @RequestBody LoginRequest loginRequest) {
         // Service will throw ResourceNotFoundException or InvalidOperationException
         User loggedInUser = userService.loginUser(loginRequest.getUsername(), loginRequest.getPassword());
-        return new ResponseEntity<>(convertToDto(loggedInUser), HttpStatus.OK);
+        // Send the token as "Authorization: Bearer <token>" instead of Basic credentials on later requests
+        AuthTokenService.IssuedToken token = authTokenService.issueToken(loggedInUser);
+        LoginResponse response = new LoginResponse(loggedInUser.getUserId(), loggedInUser.getUsername(),
+                loggedInUser.getRole(), token.token(), "Bearer", token.expiresAt());
+        return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
     @GetMapping
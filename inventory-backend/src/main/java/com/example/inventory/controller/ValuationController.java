@@ -0,0 +1,31 @@
+package com.example.inventory.controller;
+
+import com.example.inventory.dto.valuation.StockValuationDTO;
+import com.example.inventory.service.StockValuationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// Stock value and potential margin per category and per supplier, served from running totals
+@RestController
+@RequestMapping("/api/valuation")
+public class ValuationController {
+
+    @Autowired
+    private StockValuationService stockValuationService;
+
+    @GetMapping("/categories")
+    public ResponseEntity<List<StockValuationDTO>> getCategoryValuations() {
+        return new ResponseEntity<>(stockValuationService.getCategoryValuations(), HttpStatus.OK);
+    }
+
+    @GetMapping("/suppliers")
+    public ResponseEntity<List<StockValuationDTO>> getSupplierValuations() {
+        return new ResponseEntity<>(stockValuationService.getSupplierValuations(), HttpStatus.OK);
+    }
+}
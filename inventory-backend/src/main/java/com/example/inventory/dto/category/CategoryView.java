@@ -0,0 +1,5 @@
+package com.example.inventory.dto.category;
+
+// Immutable snapshot of a category as held in the reference-data cache; one instance is shared by every reader
+public record CategoryView(Long categoryId, String name) {
+}
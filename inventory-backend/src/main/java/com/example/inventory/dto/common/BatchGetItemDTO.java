@@ -0,0 +1,15 @@
+package com.example.inventory.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One requested key: 'item' is null and 'found' false when nothing matched it
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetItemDTO<T> {
+    private Object key; // The ID or SKU as sent
+    private boolean found;
+    private T item;
+}
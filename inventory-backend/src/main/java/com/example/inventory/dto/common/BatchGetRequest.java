@@ -0,0 +1,18 @@
+package com.example.inventory.dto.common;
+
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+// Exactly one of ids or skus. Results come back in the same order, duplicates included.
+@Data
+public class BatchGetRequest {
+    public static final int MAX_KEYS = 1000;
+
+    @Size(max = MAX_KEYS, message = "At most " + MAX_KEYS + " IDs per request")
+    private List<Long> ids;
+
+    @Size(max = MAX_KEYS, message = "At most " + MAX_KEYS + " SKUs per request")
+    private List<String> skus;
+}
@@ -0,0 +1,17 @@
+package com.example.inventory.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private Long nextCursor; // Pass back as 'after' to fetch the next page; null when there are no more rows
+    private boolean hasMore;
+    private int limit;
+}
@@ -0,0 +1,18 @@
+package com.example.inventory.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// What deleting a resource would run into, without loading any of the dependent rows
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DependencyReportDTO {
+    private String resource;
+    private Long id;
+    private boolean deletable;
+    private List<DependentCountDTO> dependents;
+}
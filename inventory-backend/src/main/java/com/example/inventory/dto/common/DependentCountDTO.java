@@ -0,0 +1,16 @@
+package com.example.inventory.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Rows of one type that reference the resource. Counting stops at a cap; 'capped' means there are at least 'count'.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DependentCountDTO {
+    private String type;
+    private long count;
+    private boolean capped;
+    private boolean blocksDelete;
+}
@@ -0,0 +1,16 @@
+package com.example.inventory.dto.imports;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportResultDTO {
+    private long totalRows;
+    private long importedProducts;
+    private long importedInventory;
+    private long failedRows;
+    private List<ImportRowErrorDTO> errors = new ArrayList<>();
+    private boolean errorsTruncated; // True when more rows failed than are listed in 'errors'
+}
@@ -0,0 +1,14 @@
+package com.example.inventory.dto.imports;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowErrorDTO {
+    private long line; // 1-based line (CSV record) number in the uploaded file
+    private String sku;
+    private String message;
+}
@@ -0,0 +1,43 @@
+package com.example.inventory.dto.imports;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+// One line of a product catalog import. The inventory columns are optional;
+// when quantityInStock is present an inventory record is created alongside the product.
+@Data
+public class ProductImportRow {
+    @NotBlank(message = "SKU is required")
+    @Size(max = 50, message = "SKU cannot exceed 50 characters")
+    private String sku;
+
+    @NotBlank(message = "Product name is required")
+    @Size(max = 255, message = "Product name cannot exceed 255 characters")
+    private String name;
+
+    @Size(max = 500, message = "Description cannot exceed 500 characters")
+    private String description;
+
+    @NotNull(message = "Category ID is required")
+    private Long categoryId;
+
+    @NotNull(message = "Supplier ID is required")
+    private Long supplierId;
+
+    @NotNull(message = "Purchase price is required")
+    @PositiveOrZero(message = "Purchase price must be zero or positive")
+    private Double purchasePrice;
+
+    @NotNull(message = "Sale price is required")
+    @PositiveOrZero(message = "Sale price must be zero or positive")
+    private Double sellingPrice;
+
+    @PositiveOrZero(message = "Quantity in stock cannot be negative")
+    private Integer quantityInStock;
+
+    @PositiveOrZero(message = "Low stock threshold cannot be negative")
+    private Integer lowStockThreshold;
+}
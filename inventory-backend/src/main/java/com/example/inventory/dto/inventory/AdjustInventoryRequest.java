@@ -0,0 +1,17 @@
+package com.example.inventory.dto.inventory;
+
+import com.example.inventory.entity.MovementType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class AdjustInventoryRequest {
+    @NotNull(message = "Delta is required")
+    private Integer delta; // Signed change: positive for receipts, negative for picks/sales
+
+    private MovementType type; // Recorded in the stock ledger; defaults to ADJUSTMENT
+
+    @Size(max = 255, message = "Reference must be at most 255 characters")
+    private String reference;
+}
@@ -0,0 +1,16 @@
+package com.example.inventory.dto.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One line of a count file: exactly one of 'delta' (signed change) or 'quantity' (counted absolute level).
+// Checked per row by the service, so one bad line does not reject the whole upload.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAdjustEntry {
+    private Long productId;
+    private Integer delta;
+    private Integer quantity;
+}
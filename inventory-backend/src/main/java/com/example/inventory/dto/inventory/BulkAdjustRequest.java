@@ -0,0 +1,20 @@
+package com.example.inventory.dto.inventory;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+// Entries for the same product are applied in the order given
+@Data
+public class BulkAdjustRequest {
+    public static final int MAX_ENTRIES = 200_000;
+
+    @NotEmpty(message = "At least one entry is required")
+    @Size(max = MAX_ENTRIES, message = "At most " + MAX_ENTRIES + " entries per request")
+    private List<BulkAdjustEntry> entries;
+
+    @Size(max = 255, message = "Reference must be at most 255 characters")
+    private String reference; // Recorded on every ledger movement, e.g. the cycle count ID
+}
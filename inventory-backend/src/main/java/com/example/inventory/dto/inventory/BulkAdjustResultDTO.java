@@ -0,0 +1,17 @@
+package com.example.inventory.dto.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAdjustResultDTO {
+    private int totalRows;
+    private int appliedRows;
+    private int failedRows;
+    private List<BulkAdjustRowResultDTO> results;
+}
@@ -0,0 +1,23 @@
+package com.example.inventory.dto.inventory;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outcome of one entry, in request order. Null fields are left out to keep large responses small.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkAdjustRowResultDTO {
+
+    public enum Status {
+        APPLIED, REJECTED, NOT_FOUND
+    }
+
+    private Long productId;
+    private Status status;
+    private Integer quantityInStock; // Stock level right after this entry was applied
+    private String error;
+}
@@ -0,0 +1,13 @@
+package com.example.inventory.dto.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotSkuDTO {
+    private Long productId;
+    private Long quantityInStock; // Live in-memory value; the inventory row catches up at the next flush
+}
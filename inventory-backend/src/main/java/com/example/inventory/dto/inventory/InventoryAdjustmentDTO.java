@@ -0,0 +1,14 @@
+package com.example.inventory.dto.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryAdjustmentDTO {
+    private Long productId;
+    private Integer delta;
+    private Integer quantityInStock; // Quantity after the adjustment was applied
+}
@@ -0,0 +1,19 @@
+package com.example.inventory.dto.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryChangesDTO {
+    private List<InventoryDTO> changed; // Created or updated rows, oldest change first
+    private List<InventoryTombstoneDTO> deleted; // Empty on a full sync (no 'since'): the client has nothing to delete yet
+    private LocalDateTime watermark; // Pass back as 'since' on the next call
+    private Long afterId; // Pass back with 'since' while hasMore is true; null once the client has caught up
+    private boolean hasMore;
+}
@@ -2,9 +2,12 @@ package com.example.inventory.dto.inventory;
 
 import com.example.inventory.dto.product.ProductDTO;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class InventoryDTO {
     private Long inventoryId;
     private ProductDTO product; // Nested DTO
@@ -12,4 +15,24 @@ public class InventoryDTO {
     private Integer lowStockThreshold;
     private LocalDateTime createdAt;
     private LocalDateTime lastUpdated;
-}
\ No newline at end of file
+    private Long version;
+
+    // Flat constructor for JPQL constructor-expression projections (see InventoryRepository.INVENTORY_DTO_SELECT).
+    // The nested product carries the same summary fields as InventoryController's entity mapping.
+    public InventoryDTO(Long inventoryId, Integer quantityInStock, Integer lowStockThreshold, LocalDateTime createdAt,
+                        LocalDateTime lastUpdated, Long version, Long productId, String productName, String sku,
+                        String description, Long productVersion) {
+        this.inventoryId = inventoryId;
+        this.quantityInStock = quantityInStock;
+        this.lowStockThreshold = lowStockThreshold;
+        this.createdAt = createdAt;
+        this.lastUpdated = lastUpdated;
+        this.version = version;
+        this.product = new ProductDTO();
+        this.product.setProductId(productId);
+        this.product.setName(productName);
+        this.product.setSku(sku);
+        this.product.setDescription(description);
+        this.product.setVersion(productVersion); // Part of the ETag: the payload embeds the product's fields
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.inventory.dto.inventory;
+
+import com.example.inventory.event.InventoryChangeEvent.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// What GET /api/inventory/stream sends per change. Deliberately narrower than InventoryChangeEvent: prices and
+// supplier IDs are there for the in-process valuation totals and must not reach stream subscribers.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryStreamEventDTO {
+    private ChangeType type;
+    private Long inventoryId;
+    private Long productId;
+    private Long categoryId;
+    private Integer quantityInStock;
+    private Integer lowStockThreshold;
+    private boolean lowStock;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,16 @@
+package com.example.inventory.dto.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryTombstoneDTO {
+    private Long inventoryId;
+    private Long productId;
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,15 @@
+package com.example.inventory.dto.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAvailabilityDTO {
+    private Long productId;
+    private Integer quantityInStock;
+    private Integer reservedQuantity; // Held by active reservations
+    private Integer availableToPromise; // quantityInStock - reservedQuantity
+}
@@ -0,0 +1,16 @@
+package com.example.inventory.dto.ledger;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevelAsOfDTO {
+    private Long productId;
+    private LocalDateTime asOf;
+    private long quantityInStock;
+}
@@ -0,0 +1,21 @@
+package com.example.inventory.dto.ledger;
+
+import com.example.inventory.entity.MovementType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovementDTO {
+    private Long movementId;
+    private Long productId;
+    private MovementType movementType;
+    private Integer quantityDelta;
+    private Integer quantityAfter;
+    private String reference;
+    private LocalDateTime occurredAt;
+}
@@ -3,8 +3,10 @@ package com.example.inventory.dto.product;
 import com.example.inventory.dto.category.CategoryDTO;
 import com.example.inventory.dto.supplier.SupplierDTO;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 public class ProductDTO {
     private Long productId;
     private String name;
@@ -14,4 +16,28 @@ public class ProductDTO {
     private SupplierDTO supplier; // Nested DTO
     private Double purchasePrice;
     private Double sellingPrice;
-}
\ No newline at end of file
+    private Long version; // Changes whenever this payload does; quoted, it is the ETag
+
+    // Flat constructor for JPQL constructor-expression projections (see ProductRepository.PRODUCT_DTO_SELECT)
+    public ProductDTO(Long productId, String name, String sku, String description, Double purchasePrice, Double sellingPrice,
+                      Long version, Long categoryId, String categoryName, Long supplierId, String supplierName, String supplierContactInfo) {
+        this.productId = productId;
+        this.name = name;
+        this.sku = sku;
+        this.description = description;
+        this.purchasePrice = purchasePrice;
+        this.sellingPrice = sellingPrice;
+        this.version = version;
+        if (categoryId != null) {
+            this.category = new CategoryDTO();
+            this.category.setCategoryId(categoryId);
+            this.category.setName(categoryName);
+        }
+        if (supplierId != null) {
+            this.supplier = new SupplierDTO();
+            this.supplier.setSupplierId(supplierId);
+            this.supplier.setName(supplierName);
+            this.supplier.setContactInfo(supplierContactInfo);
+        }
+    }
+}
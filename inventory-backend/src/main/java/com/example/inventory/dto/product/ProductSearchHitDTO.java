@@ -0,0 +1,13 @@
+package com.example.inventory.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchHitDTO {
+    private double score; // Relative relevance within one result list; higher is better
+    private ProductDTO product;
+}
@@ -0,0 +1,14 @@
+package com.example.inventory.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSuggestionDTO {
+    private Long productId;
+    private String name;
+    private String sku;
+}
@@ -0,0 +1,22 @@
+package com.example.inventory.dto.reservation;
+
+import com.example.inventory.entity.ReservationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationDTO {
+    private Long reservationId;
+    private Long productId;
+    private Integer quantity;
+    private ReservationStatus status;
+    private String reference;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+    private LocalDateTime closedAt;
+}
@@ -0,0 +1,22 @@
+package com.example.inventory.dto.reservation;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class ReserveStockRequest {
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+
+    @Min(value = 1, message = "TTL must be at least 1 second")
+    private Long ttlSeconds; // Optional; defaults to inventory.reservations.default-ttl
+
+    @Size(max = 255, message = "Reference must be at most 255 characters")
+    private String reference; // e.g. cart or order ID
+}
@@ -0,0 +1,5 @@
+package com.example.inventory.dto.supplier;
+
+// Immutable snapshot of a supplier as held in the reference-data cache; one instance is shared by every reader
+public record SupplierView(Long supplierId, String name, String contactInfo) {
+}
@@ -0,0 +1,20 @@
+package com.example.inventory.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// The user fields of UserDTO plus a bearer token for subsequent requests
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginResponse {
+    private Long userId;
+    private String username;
+    private String role;
+    private String accessToken;
+    private String tokenType;
+    private Instant expiresAt;
+}
@@ -0,0 +1,22 @@
+package com.example.inventory.dto.valuation;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Stock on hand for one category or supplier, valued at purchase price (stockValue) and selling price (retailValue).
+// id and name are null for products without a category or supplier.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockValuationDTO {
+    private Long id;
+    private String name;
+    private Long units;
+    private BigDecimal stockValue;
+    private BigDecimal retailValue;
+    private BigDecimal potentialMargin;
+    private BigDecimal marginPercent; // Margin as a percentage of retail value; null when there is nothing in stock
+}
@@ -8,7 +8,8 @@ import lombok.Data; // Ensure Lombok is imported
 @Data // This provides getters and setters (e.g., getCategoryId(), getName())
 public class Category {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_seq")
+    @SequenceGenerator(name = "category_seq", sequenceName = "category_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "categoryId") // Matches the referencedColumnName in Product.java
     private Long categoryId;
 
@@ -0,0 +1,19 @@
+package com.example.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Single row (id = 1) holding the highest hot-SKU journal sequence already applied to inventory
+@Entity
+@Table(name = "hot_sku_journal_checkpoint")
+@Data
+public class HotSkuJournalCheckpoint {
+    public static final short ID = 1;
+
+    @Id
+    @Column(name = "id")
+    private Short id;
+
+    @Column(name = "last_applied_seq", nullable = false)
+    private Long lastAppliedSeq;
+}
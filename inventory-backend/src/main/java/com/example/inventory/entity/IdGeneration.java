@@ -0,0 +1,13 @@
+package com.example.inventory.entity;
+
+// Shared ID generation settings. Every entity draws its IDs from its own database sequence through Hibernate's
+// pooled optimizer: one nextval() reserves the block [value - ALLOCATION_SIZE + 1, value], which lets inserts be
+// batched instead of flushed one by one to read back an identity column.
+public final class IdGeneration {
+
+    // Must match the INCREMENT BY of the sequences created in the schema migrations
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {
+    }
+}
@@ -2,8 +2,11 @@ package com.example.inventory.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.tuple.SourceType;
 
 import java.time.LocalDateTime;
 
@@ -12,25 +15,45 @@ import java.time.LocalDateTime;
 @Data
 public class Inventory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_seq")
+    @SequenceGenerator(name = "inventory_seq", sequenceName = "inventory_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "inventory_id")
     private Long inventoryId;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false, unique = true)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Product product;
 
     @Column(name = "quantity_in_stock", nullable = false, columnDefinition = "integer default 0")
     private Integer quantityInStock = 0;
 
-    @CreationTimestamp
+    @CreationTimestamp(source = SourceType.DB)
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
-    @UpdateTimestamp
+    // Database clock, like the LOCALTIMESTAMP in the native stock UPDATEs: incremental sync compares this column
+    // against watermarks taken from the database, so a skewed application clock cannot hide or repeat changes
+    @UpdateTimestamp(source = SourceType.DB)
     @Column(name = "last_updated")
     private LocalDateTime lastUpdated;
 
     @Column(name = "low_stock_threshold")
     private Integer lowStockThreshold;
-}
\ No newline at end of file
+
+    // Sum of active reservations, maintained only by conditional UPDATEs (see StockReservationService).
+    // Read-only here so saving the entity can never overwrite a concurrent reservation with a stale total.
+    @Column(name = "reserved_quantity", insertable = false, updatable = false)
+    private Integer reservedQuantity;
+
+    // Stored generated column maintained by the database (see V3__low_stock_flag.sql); never written from here.
+    // Not refreshed after saves, so read it through queries rather than from an entity that was just modified.
+    @Column(name = "low_stock", insertable = false, updatable = false)
+    private Boolean lowStock;
+
+    // Bumped by entity updates and by every native UPDATE in InventoryRepository and StockReservationRepository
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
@@ -0,0 +1,23 @@
+package com.example.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Marker left behind when an inventory row is deleted, so incremental sync clients can drop their copy.
+// The product may be gone too, hence a plain ID column rather than an association.
+@Entity
+@Table(name = "inventory_tombstones")
+@Data
+public class InventoryTombstone {
+    @Id
+    @Column(name = "inventory_id")
+    private Long inventoryId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
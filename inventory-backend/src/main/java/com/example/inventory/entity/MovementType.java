@@ -0,0 +1,9 @@
+package com.example.inventory.entity;
+
+// Why stock changed. Stored by name in stock_movements.movement_type.
+public enum MovementType {
+    RECEIPT,    // Goods received; always increases stock
+    SALE,       // Goods sold or picked; always decreases stock
+    ADJUSTMENT, // Counts, corrections and record-level changes (create, update, delete)
+    TRANSFER    // Moved to or from another location; either direction
+}
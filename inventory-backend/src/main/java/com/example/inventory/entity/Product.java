@@ -2,13 +2,16 @@ package com.example.inventory.entity;
 
 import jakarta.persistence.*;
 import lombok.Data; // Ensure Lombok is imported
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Entity
 @Table(name = "products")
 @Data // This provides getters and setters for all fields
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "product_id")
     private Long productId;
 
@@ -18,13 +21,16 @@ public class Product {
     @Column(name = "sku", nullable = false, unique = true)
     private String sku;
 
-    @Column(name = "description")
+    @Column(name = "description", length = 500) // Matches the request DTOs' @Size; see V12
     private String description;
 
     // This is the correct way to map ManyToOne relationships.
     // The foreign key column 'category_id' in 'products' table refers to 'categoryId' in 'categories' table.
-    @ManyToOne(fetch = FetchType.EAGER) // EAGER fetch is fine for now, consider LAZY for performance in large apps.
+    // LAZY: read endpoints use DTO projections that join what they need; write paths set detached copies of cached values.
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", referencedColumnName = "categoryId")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude // Keep Lombok's methods from initializing the proxy
     private Category category; // This field holds the associated Category object.
 
     // Removed the direct 'private Long categoryId;' field.
@@ -32,8 +38,10 @@ public class Product {
 
     // This is the correct way to map ManyToOne relationships.
     // The foreign key column 'supplier_id' in 'products' table refers to 'supplierId' in 'suppliers' table.
-    @ManyToOne(fetch = FetchType.EAGER) // EAGER fetch is fine for now.
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "supplier_id", referencedColumnName = "supplierId")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Supplier supplier; // This field holds the associated Supplier object.
 
     // Removed the direct 'private Long supplierId;' field.
@@ -44,4 +52,10 @@ public class Product {
 
     @Column(name = "selling_price", nullable = false)
     private Double sellingPrice;
-}
\ No newline at end of file
+
+    // Bumped on every update (see V8__entity_versions.sql); concurrent read-modify-write updates fail instead of
+    // overwriting each other, and the value doubles as the ETag
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
@@ -0,0 +1,9 @@
+package com.example.inventory.entity;
+
+// Lifecycle of a stock reservation. Only ACTIVE reservations count towards inventory.reserved_quantity.
+public enum ReservationStatus {
+    ACTIVE,
+    COMMITTED, // Paid: the reserved quantity left stock
+    RELEASED,  // Cancelled by the caller
+    EXPIRED    // TTL ran out before commit or release
+}
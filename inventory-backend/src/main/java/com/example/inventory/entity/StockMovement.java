@@ -0,0 +1,40 @@
+package com.example.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// One row of the append-only stock ledger. @Immutable: never updated, so Hibernate skips dirty checking and
+// new rows go out as batched inserts at flush.
+@Entity
+@Table(name = "stock_movements")
+@Immutable
+@Data
+public class StockMovement {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_movement_seq")
+    @SequenceGenerator(name = "stock_movement_seq", sequenceName = "stock_movement_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
+    @Column(name = "movement_id")
+    private Long movementId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "movement_type", nullable = false, length = 20)
+    private MovementType movementType;
+
+    @Column(name = "quantity_delta", nullable = false)
+    private Integer quantityDelta;
+
+    @Column(name = "quantity_after", nullable = false)
+    private Integer quantityAfter;
+
+    @Column(name = "reference")
+    private String reference; // Optional caller reference, e.g. an order or delivery number
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
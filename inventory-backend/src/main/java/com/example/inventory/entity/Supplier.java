@@ -8,7 +8,8 @@ import lombok.Data; // Ensure Lombok is imported
 @Data // This provides getters and setters (e.g., getSupplierId(), getName(), getContactInfo())
 public class Supplier {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "supplier_seq")
+    @SequenceGenerator(name = "supplier_seq", sequenceName = "supplier_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "supplierId") // Matches the referencedColumnName in Product.java
     private Long supplierId;
 
@@ -8,7 +8,8 @@ import lombok.Data;
 @Data
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "user_id")
     private Long userId;
 
@@ -20,4 +21,8 @@ public class User {
 
     @Column(name = "role", nullable = false, columnDefinition = "varchar(50) default 'ROLE_USER'")
     private String role = "ROLE_USER";
+
+    // Bumped on every credential change; bearer tokens issued under an older epoch are rejected
+    @Column(name = "token_epoch", nullable = false)
+    private long tokenEpoch;
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.example.inventory.event;
+
+import com.example.inventory.entity.Inventory;
+import com.example.inventory.entity.Product;
+import com.example.inventory.repository.projection.StockLevel;
+
+import java.time.LocalDateTime;
+
+// Published by InventoryService whenever an inventory record is created, changed or deleted.
+// Listeners that act on it outside the database use @TransactionalEventListener so they only see committed changes.
+// quantityDelta and the product's prices let listeners such as the valuation aggregates update running totals
+// without reading anything back.
+public record InventoryChangeEvent(
+        ChangeType type,
+        Long inventoryId,
+        Long productId,
+        Long categoryId,
+        Long supplierId,
+        Integer quantityInStock,
+        int quantityDelta,
+        Integer lowStockThreshold,
+        boolean lowStock,
+        Double purchasePrice,
+        Double sellingPrice,
+        LocalDateTime occurredAt) {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static InventoryChangeEvent of(ChangeType type, Long inventoryId, Long productId, Long categoryId,
+                                          Long supplierId, Integer quantityInStock, int quantityDelta,
+                                          Integer lowStockThreshold, Double purchasePrice, Double sellingPrice) {
+        boolean lowStock = quantityInStock != null && lowStockThreshold != null && quantityInStock < lowStockThreshold;
+        return new InventoryChangeEvent(type, inventoryId, productId, categoryId, supplierId, quantityInStock,
+                quantityDelta, lowStockThreshold, lowStock, purchasePrice, sellingPrice, LocalDateTime.now());
+    }
+
+    // From the row returned by an atomic UPDATE ... RETURNING
+    public static InventoryChangeEvent of(ChangeType type, StockLevel level, int quantityDelta) {
+        return of(type, level.getInventoryId(), level.getProductId(), level.getCategoryId(), level.getSupplierId(),
+                level.getQuantityInStock(), quantityDelta, level.getLowStockThreshold(),
+                level.getPurchasePrice(), level.getSellingPrice());
+    }
+
+    // The product must already be loaded; category and supplier IDs are read from their proxies without a query
+    public static InventoryChangeEvent of(ChangeType type, Inventory inventory, int quantityDelta) {
+        Product product = inventory.getProduct();
+        Long categoryId = product.getCategory() != null ? product.getCategory().getCategoryId() : null;
+        Long supplierId = product.getSupplier() != null ? product.getSupplier().getSupplierId() : null;
+        return of(type, inventory.getInventoryId(), product.getProductId(), categoryId, supplierId,
+                inventory.getQuantityInStock(), quantityDelta, inventory.getLowStockThreshold(),
+                product.getPurchasePrice(), product.getSellingPrice());
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.inventory.event;
+
+// Published by ProductService and the bulk importer whenever a product is created, changed or deleted.
+// Carries the searchable fields so the search index can update itself without reading the product back.
+public record ProductChangeEvent(
+        ChangeType type,
+        Long productId,
+        String name,
+        String sku,
+        String description) {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static ProductChangeEvent deleted(Long productId) {
+        return new ProductChangeEvent(ChangeType.DELETED, productId, null, null, null);
+    }
+}
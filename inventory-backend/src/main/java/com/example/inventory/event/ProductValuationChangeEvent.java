@@ -0,0 +1,16 @@
+package com.example.inventory.event;
+
+// Published by ProductService when a stocked product's prices, category or supplier change, so the valuation
+// aggregates can move its stock from the old figures to the new ones
+public record ProductValuationChangeEvent(
+        Long productId,
+        int quantityInStock,
+        Long previousCategoryId,
+        Long previousSupplierId,
+        Double previousPurchasePrice,
+        Double previousSellingPrice,
+        Long categoryId,
+        Long supplierId,
+        Double purchasePrice,
+        Double sellingPrice) {
+}
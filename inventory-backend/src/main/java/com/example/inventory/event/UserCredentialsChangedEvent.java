@@ -0,0 +1,6 @@
+package com.example.inventory.event;
+
+// Published by UserService when a user's password, role or username changes or the user is deleted.
+// Anything that vouches for a user without asking the database (issued tokens, cached Basic credentials) drops it.
+public record UserCredentialsChangedEvent(Long userId, String username) {
+}
@@ -2,9 +2,17 @@ package com.example.inventory.repository;
 
 import com.example.inventory.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     boolean existsByName(String name);
+
+    @Query("SELECT c.categoryId FROM Category c WHERE c.categoryId IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids); // Resolves a batch of references in one query
 }
\ No newline at end of file
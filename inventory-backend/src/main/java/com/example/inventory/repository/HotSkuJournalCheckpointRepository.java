@@ -0,0 +1,20 @@
+package com.example.inventory.repository;
+
+import com.example.inventory.entity.HotSkuJournalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface HotSkuJournalCheckpointRepository extends JpaRepository<HotSkuJournalCheckpoint, Short> {
+
+    // Only ever moves forward
+    @Modifying
+    @Query("""
+            UPDATE HotSkuJournalCheckpoint c SET c.lastAppliedSeq = :seq
+            WHERE c.id = 1 AND c.lastAppliedSeq < :seq
+            """)
+    int advanceTo(@Param("seq") long seq);
+}
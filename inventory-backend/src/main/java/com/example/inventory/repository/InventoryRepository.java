@@ -1,17 +1,160 @@
 package com.example.inventory.repository;
 
+import com.example.inventory.dto.inventory.InventoryDTO;
+import com.example.inventory.dto.inventory.StockAvailabilityDTO;
 import com.example.inventory.entity.Inventory;
+import com.example.inventory.repository.projection.StockLevel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Query;
 
+import jakarta.persistence.LockModeType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
 @Repository
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
+
+    // Selects exactly the InventoryDTO shape in one join, without loading entities
+    String INVENTORY_DTO_SELECT = """
+            SELECT new com.example.inventory.dto.inventory.InventoryDTO(
+                i.inventoryId, i.quantityInStock, i.lowStockThreshold, i.createdAt, i.lastUpdated, i.version,
+                p.productId, p.name, p.sku, p.description, p.version)
+            FROM Inventory i
+            JOIN i.product p
+            """;
+
+    // Shared by the UPDATE ... FROM products statements below; maps onto StockLevel
+    String STOCK_LEVEL_RETURNING = """
+            RETURNING i.inventory_id AS "inventoryId", i.product_id AS "productId", p.category_id AS "categoryId",
+                      p.supplier_id AS "supplierId", i.quantity_in_stock AS "quantityInStock",
+                      i.low_stock_threshold AS "lowStockThreshold", p.purchase_price AS "purchasePrice",
+                      p.selling_price AS "sellingPrice"
+            """;
+
+    // The product is fetched in the same select: callers publish change events that need its category
+    @EntityGraph(attributePaths = "product")
     Optional<Inventory> findByProduct_ProductId(Long productId);
 
-    @Query("SELECT i FROM Inventory i WHERE i.quantityInStock < i.lowStockThreshold")
-    List<Inventory> findLowStockProducts();
-}
\ No newline at end of file
+    @EntityGraph(attributePaths = "product")
+    Optional<Inventory> findWithProductByInventoryId(Long inventoryId);
+
+    // SELECT ... FOR UPDATE: read-modify-write paths hold the row so the ledger delta matches what is written
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = "product")
+    Optional<Inventory> findForUpdateByProduct_ProductId(Long productId);
+
+    boolean existsByProduct_ProductId(Long productId);
+
+    // Applies a signed delta in a single conditional UPDATE so concurrent movements never overwrite each other.
+    // Returns the resulting stock level, or empty when the row is missing or the delta would take stock below what
+    // active reservations hold (never below zero) or past the integer column's maximum. The check sums in BIGINT so
+    // an oversized delta is rejected instead of failing the statement with "integer out of range".
+    // Must run inside a read-write transaction.
+    @Query(value = """
+            UPDATE inventory i
+            SET quantity_in_stock = i.quantity_in_stock + :delta, last_updated = LOCALTIMESTAMP, version = i.version + 1
+            FROM products p
+            WHERE p.product_id = i.product_id AND i.product_id = :productId
+            AND i.quantity_in_stock + CAST(:delta AS BIGINT) BETWEEN i.reserved_quantity AND 2147483647
+            """ + STOCK_LEVEL_RETURNING, nativeQuery = true)
+    Optional<StockLevel> adjustQuantity(@Param("productId") Long productId, @Param("delta") int delta);
+
+    // Write-behind flush of a hot SKU: the coalesced delta was already checked against the in-memory counter
+    @Query(value = """
+            UPDATE inventory i
+            SET quantity_in_stock = i.quantity_in_stock + :delta, last_updated = LOCALTIMESTAMP, version = i.version + 1
+            FROM products p
+            WHERE p.product_id = i.product_id AND i.product_id = :productId
+            """ + STOCK_LEVEL_RETURNING, nativeQuery = true)
+    Optional<StockLevel> applyFlushedDelta(@Param("productId") Long productId, @Param("delta") int delta);
+
+    // Reservations touch the row in one conditional UPDATE (no read, no SELECT ... FOR UPDATE). Like any UPDATE it
+    // holds the row lock until the transaction ends, so callers run it last, just before commit.
+    // Returns 0 when not enough is available.
+    @Modifying
+    @Query(value = """
+            UPDATE inventory SET reserved_quantity = reserved_quantity + :quantity, version = version + 1
+            WHERE product_id = :productId AND quantity_in_stock - reserved_quantity >= :quantity
+            """, nativeQuery = true)
+    int reserve(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query(value = """
+            UPDATE inventory SET reserved_quantity = reserved_quantity - :quantity, version = version + 1
+            WHERE product_id = :productId
+            """, nativeQuery = true)
+    int releaseReserved(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    // A committed reservation leaves stock: on-hand and reserved drop together, so availability is unchanged
+    @Query(value = """
+            UPDATE inventory i
+            SET quantity_in_stock = i.quantity_in_stock - :quantity, reserved_quantity = i.reserved_quantity - :quantity,
+                last_updated = LOCALTIMESTAMP, version = i.version + 1
+            FROM products p
+            WHERE p.product_id = i.product_id AND i.product_id = :productId
+            """ + STOCK_LEVEL_RETURNING, nativeQuery = true)
+    Optional<StockLevel> consumeReserved(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    @Query("""
+            SELECT new com.example.inventory.dto.inventory.StockAvailabilityDTO(
+                i.product.productId, i.quantityInStock, i.reservedQuantity, i.quantityInStock - i.reservedQuantity)
+            FROM Inventory i
+            WHERE i.product.productId = :productId
+            """)
+    Optional<StockAvailabilityDTO> findAvailabilityByProductId(@Param("productId") Long productId);
+
+    @Query(INVENTORY_DTO_SELECT + "WHERE p.productId = :productId")
+    Optional<InventoryDTO> findDtoByProductId(@Param("productId") Long productId);
+
+    // Batch-get lookups; callers chunk the key lists (see BatchLookup)
+    @Query(INVENTORY_DTO_SELECT + "WHERE p.productId IN :productIds")
+    List<InventoryDTO> findDtosByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    @Query(INVENTORY_DTO_SELECT + "WHERE p.sku IN :skus")
+    List<InventoryDTO> findDtosBySkus(@Param("skus") Collection<String> skus);
+
+    // Served by the partial index on the generated low_stock flag instead of a full scan
+    @Query(INVENTORY_DTO_SELECT + "WHERE i.lowStock = true ORDER BY i.inventoryId")
+    List<InventoryDTO> findLowStockDtos();
+
+    // Keyset page over inventoryId. Category and supplier filters compare the product's foreign key columns,
+    // so no extra joins are needed. Null filters are ignored.
+    @Query(INVENTORY_DTO_SELECT + """
+            WHERE i.inventoryId > :afterId
+            AND (:categoryId IS NULL OR p.category.categoryId = :categoryId)
+            AND (:supplierId IS NULL OR p.supplier.supplierId = :supplierId)
+            AND (:skuPattern IS NULL OR p.sku LIKE :skuPattern ESCAPE '\\')
+            AND (:minQuantity IS NULL OR i.quantityInStock >= :minQuantity)
+            AND (:maxQuantity IS NULL OR i.quantityInStock <= :maxQuantity)
+            ORDER BY i.inventoryId
+            """)
+    Slice<InventoryDTO> findDtoPageAfter(@Param("afterId") Long afterId,
+                                         @Param("categoryId") Long categoryId,
+                                         @Param("supplierId") Long supplierId,
+                                         @Param("skuPattern") String skuPattern,
+                                         @Param("minQuantity") Integer minQuantity,
+                                         @Param("maxQuantity") Integer maxQuantity,
+                                         Pageable pageable);
+
+    // Keyset page over (lastUpdated, inventoryId) for incremental sync, served by idx_inventory_last_updated.
+    // Rows stamped at or after 'upTo' are left for a later call, once their transactions have surely committed.
+    @Query(INVENTORY_DTO_SELECT + """
+            WHERE (i.lastUpdated > :since OR (i.lastUpdated = :since AND i.inventoryId > :afterId))
+            AND i.lastUpdated < :upTo
+            ORDER BY i.lastUpdated, i.inventoryId
+            """)
+    Slice<InventoryDTO> findDtosChangedAfter(@Param("since") LocalDateTime since,
+                                             @Param("afterId") Long afterId,
+                                             @Param("upTo") LocalDateTime upTo,
+                                             Pageable pageable);
+}
@@ -0,0 +1,45 @@
+package com.example.inventory.repository;
+
+import com.example.inventory.dto.inventory.InventoryTombstoneDTO;
+import com.example.inventory.entity.InventoryTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface InventoryTombstoneRepository extends JpaRepository<InventoryTombstone, Long> {
+
+    // Plain insert: save() would merge and select the assigned ID first.
+    // Stamped by the database clock, the same one that stamps inventory.last_updated and the sync watermark.
+    @Modifying
+    @Query(value = """
+            INSERT INTO inventory_tombstones (inventory_id, product_id, deleted_at)
+            VALUES (:inventoryId, :productId, LOCALTIMESTAMP)
+            """, nativeQuery = true)
+    void recordDeletion(@Param("inventoryId") Long inventoryId, @Param("productId") Long productId);
+
+    // Keyset page over (deletedAt, inventoryId), the same cursor as InventoryRepository.findDtosChangedAfter.
+    // Inventory IDs are never reused, so a deleted row and a live row can't share a cursor position.
+    @Query("""
+            SELECT new com.example.inventory.dto.inventory.InventoryTombstoneDTO(t.inventoryId, t.productId, t.deletedAt)
+            FROM InventoryTombstone t
+            WHERE (t.deletedAt > :since OR (t.deletedAt = :since AND t.inventoryId > :afterId))
+            AND t.deletedAt < :upTo
+            ORDER BY t.deletedAt, t.inventoryId
+            """)
+    Slice<InventoryTombstoneDTO> findDtosDeletedAfter(@Param("since") LocalDateTime since,
+                                                      @Param("afterId") Long afterId,
+                                                      @Param("upTo") LocalDateTime upTo,
+                                                      Pageable pageable);
+
+    // Range delete on idx_inventory_tombstones_deleted_at
+    @Modifying
+    @Query(value = "DELETE FROM inventory_tombstones WHERE deleted_at < :cutoff", nativeQuery = true)
+    int deleteDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,16 +1,71 @@
 package com.example.inventory.repository;
 
+import com.example.inventory.dto.product.ProductDTO;
 import com.example.inventory.entity.Product;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List; // Added for the new method
+import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    // Selects exactly the ProductDTO shape in one join, without loading entities
+    String PRODUCT_DTO_SELECT = """
+            SELECT new com.example.inventory.dto.product.ProductDTO(
+                p.productId, p.name, p.sku, p.description, p.purchasePrice, p.sellingPrice, p.version,
+                c.categoryId, c.name, s.supplierId, s.name, s.contactInfo)
+            FROM Product p
+            LEFT JOIN p.category c
+            LEFT JOIN p.supplier s
+            """;
+
     boolean existsBySku(String sku);
 
+    // Product payloads embed the category and supplier names, so renaming one must change their ETags too
+    @Modifying
+    @Query("UPDATE Product p SET p.version = p.version + 1 WHERE p.category.categoryId = :categoryId")
+    int bumpVersionsByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.version = p.version + 1 WHERE p.supplier.supplierId = :supplierId")
+    int bumpVersionsBySupplierId(@Param("supplierId") Long supplierId);
+
+    @Query("SELECT p.sku FROM Product p WHERE p.sku IN :skus")
+    List<String> findExistingSkus(@Param("skus") Collection<String> skus); // Bulk SKU pre-check for imports
+
     // Add custom query methods if needed later
-    List<Product> findBySupplier_SupplierId(Long supplierId); // Added for SupplierService deletion check
-    List<Product> findByCategory_CategoryId(Long categoryId); //for CategoryService deletion check
-}
\ No newline at end of file
+    // Delete checks against categories and suppliers go through DependencyCheckService instead of loading products
+
+    @Query(PRODUCT_DTO_SELECT + "WHERE p.productId = :productId")
+    Optional<ProductDTO> findDtoById(@Param("productId") Long productId);
+
+    // Batch-get lookups; callers chunk the key lists (see BatchLookup)
+    @Query(PRODUCT_DTO_SELECT + "WHERE p.productId IN :productIds")
+    List<ProductDTO> findDtosByIds(@Param("productIds") Collection<Long> productIds);
+
+    @Query(PRODUCT_DTO_SELECT + "WHERE p.sku IN :skus")
+    List<ProductDTO> findDtosBySkus(@Param("skus") Collection<String> skus);
+
+    // Keyset page: seeks past 'afterId' on the primary key instead of using OFFSET, so every page costs the same.
+    // Null filters are ignored; 'skuPattern' is a LIKE pattern already escaped by the caller.
+    @Query(PRODUCT_DTO_SELECT + """
+            WHERE p.productId > :afterId
+            AND (:categoryId IS NULL OR c.categoryId = :categoryId)
+            AND (:supplierId IS NULL OR s.supplierId = :supplierId)
+            AND (:skuPattern IS NULL OR p.sku LIKE :skuPattern ESCAPE '\\')
+            ORDER BY p.productId
+            """)
+    Slice<ProductDTO> findDtoPageAfter(@Param("afterId") Long afterId,
+                                       @Param("categoryId") Long categoryId,
+                                       @Param("supplierId") Long supplierId,
+                                       @Param("skuPattern") String skuPattern,
+                                       Pageable pageable);
+}
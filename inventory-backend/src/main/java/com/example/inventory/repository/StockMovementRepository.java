@@ -0,0 +1,86 @@
+package com.example.inventory.repository;
+
+import com.example.inventory.dto.ledger.StockMovementDTO;
+import com.example.inventory.entity.StockMovement;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    // Selects exactly the StockMovementDTO shape, without loading entities
+    String MOVEMENT_DTO_SELECT = """
+            SELECT new com.example.inventory.dto.ledger.StockMovementDTO(
+                m.movementId, m.productId, m.movementType, m.quantityDelta, m.quantityAfter, m.reference, m.occurredAt)
+            FROM StockMovement m
+            """;
+
+    // Keyset pages over one product's history, oldest first, on (occurredAt, movementId).
+    // Movement IDs come from pooled sequence blocks and don't follow time order across instances.
+    @Query(MOVEMENT_DTO_SELECT + """
+            WHERE m.productId = :productId
+            ORDER BY m.occurredAt, m.movementId
+            """)
+    Slice<StockMovementDTO> findDtoFirstPageByProductId(@Param("productId") Long productId, Pageable pageable);
+
+    @Query(MOVEMENT_DTO_SELECT + """
+            WHERE m.productId = :productId
+            AND (m.occurredAt > :since OR (m.occurredAt = :since AND m.movementId > :afterId))
+            ORDER BY m.occurredAt, m.movementId
+            """)
+    Slice<StockMovementDTO> findDtoPageByProductIdAfter(@Param("productId") Long productId,
+                                                        @Param("since") LocalDateTime since,
+                                                        @Param("afterId") Long afterId,
+                                                        Pageable pageable);
+
+    // Resolves a page cursor (the last movement ID handed out) to its position in time
+    @Query("SELECT m.occurredAt FROM StockMovement m WHERE m.movementId = :movementId AND m.productId = :productId")
+    Optional<LocalDateTime> findOccurredAt(@Param("productId") Long productId, @Param("movementId") Long movementId);
+
+    // Latest snapshot at or before 'asOf' plus the movements after it; both reads use an index on (product_id, time)
+    @Query(value = """
+            WITH snap AS (
+                SELECT quantity, as_of FROM stock_snapshots
+                WHERE product_id = :productId AND as_of <= :asOf
+                ORDER BY as_of DESC LIMIT 1
+            )
+            SELECT COALESCE((SELECT quantity FROM snap), 0)
+                 + COALESCE((SELECT SUM(m.quantity_delta) FROM stock_movements m
+                             WHERE m.product_id = :productId AND m.occurred_at <= :asOf
+                             AND m.occurred_at > COALESCE((SELECT as_of FROM snap), CAST('-infinity' AS TIMESTAMP))), 0)
+            """, nativeQuery = true)
+    long quantityAsOf(@Param("productId") Long productId, @Param("asOf") LocalDateTime asOf);
+
+    // Rolls every product that moved in (previous run, cutoff] forward from its latest snapshot.
+    // The previous cutoff is the newest snapshot time, so each run only reads the movements since the last one.
+    @Modifying
+    @Query(value = """
+            WITH previous AS (
+                SELECT COALESCE(MAX(as_of), CAST('-infinity' AS TIMESTAMP)) AS cutoff FROM stock_snapshots
+            ),
+            moved AS (
+                SELECT m.product_id, SUM(m.quantity_delta) AS delta
+                FROM stock_movements m, previous
+                WHERE m.occurred_at > previous.cutoff AND m.occurred_at <= :cutoff
+                GROUP BY m.product_id
+            )
+            INSERT INTO stock_snapshots (product_id, as_of, quantity)
+            SELECT moved.product_id, :cutoff, COALESCE(base.quantity, 0) + moved.delta
+            FROM moved
+            LEFT JOIN LATERAL (
+                SELECT s.quantity FROM stock_snapshots s
+                WHERE s.product_id = moved.product_id
+                ORDER BY s.as_of DESC LIMIT 1
+            ) base ON TRUE
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int snapshotMovementsUpTo(@Param("cutoff") LocalDateTime cutoff);
+}
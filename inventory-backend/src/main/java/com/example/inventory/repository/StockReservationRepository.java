@@ -0,0 +1,85 @@
+package com.example.inventory.repository;
+
+import com.example.inventory.entity.ReservationStatus;
+import com.example.inventory.entity.StockReservation;
+import com.example.inventory.repository.projection.ReservationExpiry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    // Closes an active reservation. Returns 0 when it was already committed, released or expired, so exactly one
+    // of several racing transitions wins.
+    @Modifying
+    @Query(value = """
+            UPDATE stock_reservations SET status = :status, closed_at = LOCALTIMESTAMP
+            WHERE reservation_id = :reservationId AND status = 'ACTIVE'
+            """, nativeQuery = true)
+    int closeIfActive(@Param("reservationId") Long reservationId, @Param("status") String status);
+
+    // Reservation history goes with its product; active reservations are checked first and block the delete
+    @Modifying
+    @Query(value = "DELETE FROM stock_reservations WHERE product_id = :productId AND status <> 'ACTIVE'", nativeQuery = true)
+    int deleteClosedByProductId(@Param("productId") Long productId);
+
+    // Expires a batch and hands the held quantity back in one statement: one inventory row update per product,
+    // however many of its reservations expired together. Reservations closed in the meantime are skipped.
+    // The inventory rows are locked in product ID order first, the same order InventoryBulkAdjustService uses, so
+    // an expiry batch cannot deadlock with a bulk adjustment chunk or with another batch. The UPDATE only touches
+    // rows the CTE already holds.
+    @Modifying
+    @Query(value = """
+            WITH expired AS (
+                UPDATE stock_reservations SET status = 'EXPIRED', closed_at = LOCALTIMESTAMP
+                WHERE reservation_id IN (:reservationIds) AND status = 'ACTIVE'
+                RETURNING product_id, quantity
+            ),
+            totals AS (
+                SELECT product_id, SUM(quantity) AS quantity FROM expired GROUP BY product_id
+            ),
+            locked AS MATERIALIZED (
+                SELECT i.product_id FROM inventory i
+                WHERE i.product_id IN (SELECT product_id FROM totals)
+                ORDER BY i.product_id
+                FOR UPDATE
+            )
+            UPDATE inventory i SET reserved_quantity = i.reserved_quantity - totals.quantity, version = i.version + 1
+            FROM totals
+            JOIN locked ON locked.product_id = totals.product_id
+            WHERE i.product_id = totals.product_id
+            """, nativeQuery = true)
+    int expireActive(@Param("reservationIds") Collection<Long> reservationIds);
+
+    // Served by the partial index on active reservations
+    @Query("""
+            SELECT r.reservationId AS reservationId, r.expiresAt AS expiresAt
+            FROM StockReservation r
+            WHERE r.status = :status AND r.expiresAt <= :before
+            ORDER BY r.expiresAt, r.reservationId
+            """)
+    List<ReservationExpiry> findExpiries(@Param("status") ReservationStatus status,
+                                         @Param("before") LocalDateTime before,
+                                         Pageable pageable);
+
+    // Keyset page over the same index in (expiresAt, reservationId) order
+    @Query("""
+            SELECT r.reservationId AS reservationId, r.expiresAt AS expiresAt
+            FROM StockReservation r
+            WHERE r.status = :status
+            AND (r.expiresAt > :afterTime OR (r.expiresAt = :afterTime AND r.reservationId > :afterId))
+            ORDER BY r.expiresAt, r.reservationId
+            """)
+    List<ReservationExpiry> findExpiriesAfter(@Param("status") ReservationStatus status,
+                                              @Param("afterTime") LocalDateTime afterTime,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
+}
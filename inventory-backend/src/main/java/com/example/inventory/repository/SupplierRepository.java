@@ -2,9 +2,17 @@ package com.example.inventory.repository;
 
 import com.example.inventory.entity.Supplier;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
     boolean existsByName(String name);
+
+    @Query("SELECT s.supplierId FROM Supplier s WHERE s.supplierId IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids); // Resolves a batch of references in one query
 }
\ No newline at end of file
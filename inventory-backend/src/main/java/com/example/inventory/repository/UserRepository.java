@@ -2,6 +2,8 @@ package com.example.inventory.repository;
 
 import com.example.inventory.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,4 +12,7 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
+
+    @Query("SELECT u.tokenEpoch FROM User u WHERE u.userId = :userId")
+    Optional<Long> findTokenEpoch(@Param("userId") Long userId);
 }
\ No newline at end of file
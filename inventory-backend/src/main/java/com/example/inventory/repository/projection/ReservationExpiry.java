@@ -0,0 +1,10 @@
+package com.example.inventory.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Just enough of an active reservation to put it on the expiry schedule
+public interface ReservationExpiry {
+    Long getReservationId();
+
+    LocalDateTime getExpiresAt();
+}
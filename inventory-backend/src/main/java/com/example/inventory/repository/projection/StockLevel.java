@@ -0,0 +1,20 @@
+package com.example.inventory.repository.projection;
+
+// Row returned by the atomic stock UPDATE ... RETURNING statements in InventoryRepository
+public interface StockLevel {
+    Long getInventoryId();
+
+    Long getProductId();
+
+    Long getCategoryId();
+
+    Long getSupplierId();
+
+    Integer getQuantityInStock();
+
+    Integer getLowStockThreshold();
+
+    Double getPurchasePrice();
+
+    Double getSellingPrice();
+}
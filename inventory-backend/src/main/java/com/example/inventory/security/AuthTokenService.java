@@ -0,0 +1,128 @@
+package com.example.inventory.security;
+
+import com.example.inventory.entity.User;
+import com.example.inventory.event.UserCredentialsChangedEvent;
+import com.example.inventory.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+// Issues and verifies self-contained bearer tokens: base64url(userId:epoch:issuedAt:expiresAt:role:username) + "." +
+// base64url(HMAC-SHA256 of that payload). Verifying one is a single HMAC plus a cached lookup of the user's token
+// epoch, with no BCrypt. The epoch is persisted on the user and bumped on every credential change, so revocation
+// holds on every instance and across restarts; a deleted user has no epoch and all of their tokens fail.
+// Changes made here take effect at once, changes made through another instance within the cache expiry.
+@Service
+public class AuthTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthTokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final long NO_USER = -1; // Epochs start at 0, so no token ever matches
+
+    private final SecretKeySpec key;
+    private final Duration tokenTtl;
+    private final LoadingCache<Long, Long> tokenEpochs; // userId -> epoch, NO_USER once deleted
+
+    public AuthTokenService(UserRepository userRepository,
+                            @Value("${inventory.auth.token-secret:}") String secret,
+                            @Value("${inventory.auth.token-ttl:1h}") Duration tokenTtl,
+                            @Value("${inventory.auth.credential-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${inventory.auth.token-epoch-cache.expire-after-write:30s}") Duration epochExpiry) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            // Fine for a single instance; tokens stop verifying after a restart and on other instances
+            log.warn("inventory.auth.token-secret is not set; using a random key for this process");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.tokenTtl = tokenTtl;
+        this.tokenEpochs = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(epochExpiry)
+                .build(userId -> userRepository.findTokenEpoch(userId).orElse(NO_USER));
+    }
+
+    public IssuedToken issueToken(User user) {
+        long issuedAt = System.currentTimeMillis();
+        long expiresAt = issuedAt + tokenTtl.toMillis();
+        String payload = user.getUserId() + ":" + user.getTokenEpoch() + ":" + issuedAt + ":" + expiresAt + ":" + user.getRole() + ":" + user.getUsername();
+        String encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return new IssuedToken(encodedPayload + "." + ENCODER.encodeToString(sign(encodedPayload)),
+                Instant.ofEpochMilli(expiresAt));
+    }
+
+    // Null when the token is malformed, forged, expired or revoked
+    public Authentication verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        String encodedPayload = token.substring(0, dot);
+        try {
+            if (!MessageDigest.isEqual(sign(encodedPayload), DECODER.decode(token.substring(dot + 1)))) {
+                return null;
+            }
+            String[] fields = new String(DECODER.decode(encodedPayload), StandardCharsets.UTF_8).split(":", 6);
+            if (fields.length != 6) {
+                return null;
+            }
+            long userId = Long.parseLong(fields[0]);
+            long epoch = Long.parseLong(fields[1]);
+            long expiresAt = Long.parseLong(fields[3]);
+            if (expiresAt <= System.currentTimeMillis() || epoch != tokenEpochs.get(userId)) {
+                return null;
+            }
+            // Same principal type as Basic auth, so callers never need to tell the two apart
+            UserDetails principal = org.springframework.security.core.userdetails.User.withUsername(fields[5])
+                    .password("")
+                    .authorities(List.of(new SimpleGrantedAuthority(fields[4])))
+                    .build();
+            return UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+        } catch (IllegalArgumentException e) { // Bad base64 or number
+            return null;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        tokenEpochs.invalidate(event.userId()); // The new epoch is committed; the next verify reads it
+    }
+
+    private byte[] sign(String encodedPayload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM); // Mac is not thread-safe; a new instance costs microseconds
+            mac.init(key);
+            return mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+}
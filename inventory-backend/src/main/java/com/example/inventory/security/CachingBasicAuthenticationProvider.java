@@ -0,0 +1,111 @@
+package com.example.inventory.security;
+
+import com.example.inventory.event.UserCredentialsChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Basic auth sends the password on every request. The first successful check per user goes through BCrypt and the
+// database as usual; after that the credentials are remembered as an HMAC under a per-process random key (never the
+// password itself), so repeat requests are verified with one HMAC. Entries are bounded, expire after a while and
+// are dropped as soon as the user's password, role or username changes.
+@Component
+public class CachingBasicAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final DaoAuthenticationProvider delegate;
+    private final Cache<String, VerifiedCredential> verified;
+    private final SecretKeySpec key;
+    // Bumped on every revocation; a check that started before one must not cache what it read from the database
+    private final AtomicLong revocations = new AtomicLong();
+
+    public CachingBasicAuthenticationProvider(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder,
+                                              @Value("${inventory.auth.credential-cache.maximum-size:10000}") long maximumSize,
+                                              @Value("${inventory.auth.credential-cache.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.delegate = new DaoAuthenticationProvider();
+        this.delegate.setUserDetailsService(userDetailsService);
+        this.delegate.setPasswordEncoder(passwordEncoder);
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite) // Bounds staleness for changes made through another instance
+                .build();
+        byte[] keyBytes = new byte[32];
+        new SecureRandom().nextBytes(keyBytes);
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) {
+        String username = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (credentials == null) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        byte[] digest = digest(username, credentials.toString());
+
+        VerifiedCredential cached = verified.getIfPresent(username);
+        if (cached != null && MessageDigest.isEqual(cached.digest(), digest)) {
+            return authenticated(cached.principal());
+        }
+
+        long revocationsBefore = revocations.get();
+        Authentication result = delegate.authenticate(authentication); // Throws on bad credentials
+        UserDetails principal = (UserDetails) result.getPrincipal();
+        if (revocations.get() == revocationsBefore) {
+            verified.put(username, new VerifiedCredential(digest, principal));
+        }
+        return authenticated(principal);
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        revocations.incrementAndGet();
+        verified.invalidate(event.username());
+    }
+
+    // Cache hits and misses return the same shape: the UserDetails principal, no credentials
+    private static Authentication authenticated(UserDetails principal) {
+        return UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+    }
+
+    private byte[] digest(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private record VerifiedCredential(byte[] digest, UserDetails principal) {
+    }
+}
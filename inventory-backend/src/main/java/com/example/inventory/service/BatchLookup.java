@@ -0,0 +1,56 @@
+package com.example.inventory.service;
+
+import com.example.inventory.dto.common.BatchGetItemDTO;
+import com.example.inventory.dto.common.BatchGetRequest;
+import com.example.inventory.exception.InvalidOperationException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Resolves a batch-get request with IN queries instead of one lookup per key. Distinct keys are queried in chunks
+// so very long lists stay within sensible bind-parameter counts; results are put back in request order.
+public final class BatchLookup {
+
+    static final int CHUNK_SIZE = 500;
+
+    private BatchLookup() {
+    }
+
+    public static <T> List<BatchGetItemDTO<T>> resolve(BatchGetRequest request,
+                                                       Function<Collection<Long>, List<T>> loadByIds, Function<T, Long> idOf,
+                                                       Function<Collection<String>, List<T>> loadBySkus, Function<T, String> skuOf) {
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean hasSkus = request.getSkus() != null && !request.getSkus().isEmpty();
+        if (hasIds == hasSkus) {
+            throw new InvalidOperationException("Provide either 'ids' or 'skus', not both and not neither.");
+        }
+        return hasIds ? resolve(request.getIds(), loadByIds, idOf) : resolve(request.getSkus(), loadBySkus, skuOf);
+    }
+
+    private static <K, T> List<BatchGetItemDTO<T>> resolve(List<K> keys, Function<Collection<K>, List<T>> loader,
+                                                           Function<T, K> keyOf) {
+        if (keys.contains(null)) {
+            throw new InvalidOperationException("Batch-get keys must not be null.");
+        }
+        List<K> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        Map<K, T> found = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += CHUNK_SIZE) {
+            List<K> chunk = distinct.subList(from, Math.min(from + CHUNK_SIZE, distinct.size()));
+            for (T item : loader.apply(chunk)) {
+                found.put(keyOf.apply(item), item);
+            }
+        }
+
+        List<BatchGetItemDTO<T>> results = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            T item = found.get(key);
+            results.add(new BatchGetItemDTO<>(key, item != null, item));
+        }
+        return results;
+    }
+}
@@ -1,12 +1,17 @@
 package com.example.inventory.service;
 
+import com.example.inventory.dto.category.CategoryView;
 import com.example.inventory.entity.Category;
 import com.example.inventory.repository.CategoryRepository;
 import com.example.inventory.repository.ProductRepository; // Import ProductRepository
 import com.example.inventory.exception.ResourceNotFoundException;
 import com.example.inventory.exception.DuplicateResourceException;
-import com.example.inventory.exception.InvalidOperationException; // For deletion check
+import com.example.inventory.config.CacheConfig;
+import com.example.inventory.service.UniqueKeyFilters.KeySpace;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,53 +24,81 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private UniqueKeyFilters uniqueKeys;
+    @Autowired
+    private DependencyCheckService dependencyCheckService;
     @Autowired
     private ProductRepository productRepository; // Inject ProductRepository
 
-    public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+    // Cached values are shared across threads, so they are immutable views rather than entities
+    @Cacheable(value = CacheConfig.CATEGORY_LIST, key = "'all'")
+    public List<CategoryView> getAllCategories() {
+        return categoryRepository.findAll().stream().map(CategoryService::toView).toList();
     }
 
-    public Category getCategoryById(Long id) { // Changed return type to Category and removed Optional
+    @Cacheable(CacheConfig.CATEGORIES)
+    public CategoryView getCategoryById(Long id) {
         return categoryRepository.findById(id)
+                .map(CategoryService::toView)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID: " + id));
     }
 
     @Transactional
+    @CacheEvict(value = CacheConfig.CATEGORY_LIST, allEntries = true)
     public Category createCategory(Category category) {
-        if (categoryRepository.existsByName(category.getName())) {
-            throw new DuplicateResourceException("Category with name '" + category.getName() + "' already exists.");
+        String duplicateName = "Category with name '" + category.getName() + "' already exists.";
+        if (uniqueKeys.exists(KeySpace.CATEGORY_NAME, category.getName(), categoryRepository::existsByName)) {
+            throw new DuplicateResourceException(duplicateName);
         }
-        return categoryRepository.save(category);
+        return uniqueKeys.write(KeySpace.CATEGORY_NAME, category.getName(), duplicateName, () -> categoryRepository.saveAndFlush(category));
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.CATEGORIES, key = "#id"),
+            @CacheEvict(value = CacheConfig.CATEGORY_LIST, allEntries = true)
+    })
     public Category updateCategory(Long id, Category updatedCategory) {
         Category existingCategory = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID: " + id));
 
         // Check for duplicate name during update, but allow if it's the existing category's name
-        if (categoryRepository.existsByName(updatedCategory.getName()) &&
-                !existingCategory.getName().equals(updatedCategory.getName())) {
-            throw new DuplicateResourceException("Category with name '" + updatedCategory.getName() + "' already exists.");
+        boolean renamed = !existingCategory.getName().equals(updatedCategory.getName());
+        String duplicateName = "Category with name '" + updatedCategory.getName() + "' already exists.";
+        if (renamed && uniqueKeys.exists(KeySpace.CATEGORY_NAME, updatedCategory.getName(), categoryRepository::existsByName)) {
+            throw new DuplicateResourceException(duplicateName);
         }
 
         existingCategory.setName(updatedCategory.getName());
-        return categoryRepository.save(existingCategory);
+        Category savedCategory = renamed
+                ? uniqueKeys.write(KeySpace.CATEGORY_NAME, existingCategory.getName(), duplicateName,
+                        () -> categoryRepository.saveAndFlush(existingCategory))
+                : categoryRepository.save(existingCategory);
+        if (renamed) {
+            productRepository.bumpVersionsByCategoryId(id); // Product ETags embed the category name
+        }
+        return savedCategory;
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.CATEGORIES, key = "#id"),
+            @CacheEvict(value = CacheConfig.CATEGORY_LIST, allEntries = true)
+    })
     public void deleteCategory(Long id) {
         // First, check if the category exists
         if (!categoryRepository.existsById(id)) {
             throw new ResourceNotFoundException("Category not found with ID: " + id);
         }
 
-        // Check for associated Products before deletion
-        if (!productRepository.findByCategory_CategoryId(id).isEmpty()) {
-            throw new InvalidOperationException("Cannot delete category with existing products. Delete associated products first.");
-        }
+        // Check for associated Products before deletion (an EXISTS probe; no products are loaded)
+        dependencyCheckService.requireNoDependents(DependencyCheckService.Resource.CATEGORY, id);
 
         categoryRepository.deleteById(id);
     }
-}
\ No newline at end of file
+
+    private static CategoryView toView(Category category) {
+        return new CategoryView(category.getCategoryId(), category.getName());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.inventory.service;
+
+import com.example.inventory.dto.common.DependencyReportDTO;
+import com.example.inventory.dto.common.DependentCountDTO;
+import com.example.inventory.exception.InvalidOperationException;
+import com.example.inventory.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Checks for rows that reference a resource before it is deleted, as indexed EXISTS probes and capped counts.
+// No dependent entity is ever loaded: a rejected delete of a supplier with 40k products reads one index entry.
+// Every probe is backed by an index on the referencing column (see V9__query_path_indexes.sql).
+@Service
+public class DependencyCheckService {
+
+    // Preview counts stop here, so a preview costs at most this many index entries per dependent type
+    public static final int COUNT_CAP = 10_000;
+
+    public enum Resource {
+        CATEGORY("Category", "categories", "category_id", List.of(
+                new Dependent("products", "products", "category_id", null, true,
+                        "Cannot delete category with existing products. Delete associated products first."))),
+        SUPPLIER("Supplier", "suppliers", "supplier_id", List.of(
+                new Dependent("products", "products", "supplier_id", null, true,
+                        "Cannot delete supplier with existing products. Delete associated products first."))),
+        PRODUCT("Product", "products", "product_id", List.of(
+                new Dependent("inventory", "inventory", "product_id", null, true,
+                        "Cannot delete product with existing inventory record. Delete inventory first."),
+                // Only stock still held blocks the delete. Closed reservations are history: ProductService.deleteProduct
+                // deletes them with the product, since their foreign key would otherwise block it.
+                new Dependent("activeStockReservations", "stock_reservations", "product_id", "status = 'ACTIVE'", true,
+                        "Cannot delete product with active stock reservations. Commit or release them first."),
+                new Dependent("closedStockReservations", "stock_reservations", "product_id", "status <> 'ACTIVE'", false, null),
+                // The ledger keeps a plain product_id so history outlives the product; reported, never blocking
+                new Dependent("stockMovements", "stock_movements", "product_id", null, false, null)));
+
+        private final String label;
+        private final String table;
+        private final String idColumn;
+        private final List<Dependent> dependents;
+
+        Resource(String label, String table, String idColumn, List<Dependent> dependents) {
+            this.label = label;
+            this.table = table;
+            this.idColumn = idColumn;
+            this.dependents = dependents;
+        }
+    }
+
+    // Table, column and condition are constants, never request input, so they are safe to splice into the SQL.
+    // The optional condition narrows the rows that count as dependents.
+    private record Dependent(String type, String table, String column, String condition, boolean blocksDelete,
+                             String message) {
+
+        String where() {
+            return " WHERE " + column + " = ?" + (condition != null ? " AND " + condition : "");
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Throws InvalidOperationException for the first blocking dependent found; one EXISTS probe per type
+    public void requireNoDependents(Resource resource, Long id) {
+        for (Dependent dependent : resource.dependents) {
+            if (dependent.blocksDelete() && exists(dependent, id)) {
+                throw new InvalidOperationException(dependent.message());
+            }
+        }
+    }
+
+    public DependencyReportDTO preview(Resource resource, Long id) {
+        requireExists(resource, id);
+        List<DependentCountDTO> counts = new ArrayList<>(resource.dependents.size());
+        boolean deletable = true;
+        for (Dependent dependent : resource.dependents) {
+            long count = cappedCount(dependent, id);
+            counts.add(new DependentCountDTO(dependent.type(), count, count >= COUNT_CAP, dependent.blocksDelete()));
+            if (dependent.blocksDelete() && count > 0) {
+                deletable = false;
+            }
+        }
+        return new DependencyReportDTO(resource.label, id, deletable, counts);
+    }
+
+    private void requireExists(Resource resource, Long id) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + resource.table + " WHERE " + resource.idColumn + " = ?)", Boolean.class, id);
+        if (!Boolean.TRUE.equals(exists)) {
+            throw new ResourceNotFoundException(resource.label + " not found with ID: " + id);
+        }
+    }
+
+    private boolean exists(Dependent dependent, Long id) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + dependent.table() + dependent.where() + ")", Boolean.class, id);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    // The LIMIT inside the subquery stops the index scan at the cap instead of counting every match
+    private long cappedCount(Dependent dependent, Long id) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT 1 FROM " + dependent.table() + dependent.where() + " LIMIT ?) d",
+                Long.class, id, COUNT_CAP);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.inventory.service;
+
+import com.example.inventory.service.exports.CsvExportRowWriter;
+import com.example.inventory.service.exports.ExportFormat;
+import com.example.inventory.service.exports.ExportRowWriter;
+import com.example.inventory.service.exports.ExportSlot;
+import com.example.inventory.service.exports.NdjsonExportRowWriter;
+import com.example.inventory.exception.ServiceBusyException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+// Full catalog and stock exports for finance. Rows go straight from a forward-only JDBC cursor to the response:
+// PostgreSQL only streams a result set when the statement has a fetch size and runs inside a transaction, so the
+// query runs in a read-only transaction (one consistent snapshot) and memory stays at one fetch batch whatever the
+// row count. Output is flushed after the header and then every fetch batch, so the first bytes leave immediately.
+// Each running export holds a pooled connection for its whole duration, so only a few may run at once.
+@Service
+public class ExportService {
+
+    private static final String PRODUCTS_SQL = """
+            SELECT p.product_id, p.sku, p.name, p.description,
+                   c.category_id, c.name AS category_name, s.supplier_id, s.name AS supplier_name,
+                   p.purchase_price, p.selling_price
+            FROM products p
+            LEFT JOIN categories c ON c.category_id = p.category_id
+            LEFT JOIN suppliers s ON s.supplier_id = p.supplier_id
+            ORDER BY p.product_id
+            """;
+
+    // Stock valuation at purchase price
+    private static final String INVENTORY_SQL = """
+            SELECT i.inventory_id, p.product_id, p.sku, p.name, i.quantity_in_stock, i.reserved_quantity,
+                   i.low_stock_threshold, p.purchase_price, i.quantity_in_stock * p.purchase_price AS stock_value,
+                   i.last_updated
+            FROM inventory i
+            JOIN products p ON p.product_id = i.product_id
+            ORDER BY i.inventory_id
+            """;
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${inventory.export.fetch-size:1000}")
+    private int fetchSize;
+    @Value("${inventory.export.max-concurrent:2}")
+    private int maxConcurrent;
+    // Applied to export responses only; other async requests keep the container default
+    @Value("${inventory.export.timeout:1h}")
+    private Duration timeout;
+
+    private JdbcTemplate cursorJdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private Semaphore slots;
+
+    @PostConstruct
+    public void init() {
+        cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        cursorJdbcTemplate.setFetchSize(fetchSize);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        slots = new Semaphore(maxConcurrent);
+    }
+
+    // Claims an export slot before the response starts, so a request over the limit gets a 503 instead of a
+    // connection. The export releases it when it ends; the response releases it if the export never starts.
+    public ExportSlot reserveSlot() {
+        ExportSlot slot = ExportSlot.tryAcquire(slots);
+        if (slot == null) {
+            throw new ServiceBusyException("Too many exports are running (limit " + maxConcurrent + "). Retry later.");
+        }
+        return slot;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    // Both exports run under a slot taken with reserveSlot() and release it when they end
+    public void exportProducts(ExportSlot slot, ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        export(slot, PRODUCTS_SQL, format, gzip, out);
+    }
+
+    public void exportInventory(ExportSlot slot, ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        export(slot, INVENTORY_SQL, format, gzip, out);
+    }
+
+    private void export(ExportSlot slot, String sql, ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        if (!slot.start()) {
+            return; // The request timed out or failed before the export began; its slot is already back
+        }
+        try {
+            // syncFlush so each flush() actually reaches the client instead of waiting in the deflater
+            OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024, true) : out;
+            try (ExportRowWriter writer = format == ExportFormat.CSV
+                    ? new CsvExportRowWriter(target)
+                    : new NdjsonExportRowWriter(objectMapper, target)) {
+                readOnlyTransaction.executeWithoutResult(status -> cursorJdbcTemplate.query(sql, rs -> {
+                    writeAll(rs, writer);
+                    return null;
+                }));
+            } catch (UncheckedIOException e) {
+                throw e.getCause(); // Usually the client disconnected
+            }
+        } finally {
+            slot.finish();
+        }
+    }
+
+    private void writeAll(ResultSet rs, ExportRowWriter writer) throws SQLException {
+        try {
+            ResultSetMetaData metaData = rs.getMetaData();
+            String[] columns = new String[metaData.getColumnCount()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = metaData.getColumnLabel(i + 1);
+            }
+            writer.writeHeader(columns);
+            writer.flush();
+
+            Object[] values = new Object[columns.length];
+            long rows = 0;
+            while (rs.next()) {
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = rs.getObject(i + 1);
+                }
+                writer.writeRow(values);
+                if (++rows % fetchSize == 0) {
+                    writer.flush();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
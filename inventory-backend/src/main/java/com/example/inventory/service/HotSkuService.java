@@ -0,0 +1,251 @@
+package com.example.inventory.service;
+
+import com.example.inventory.dto.inventory.HotSkuDTO;
+import com.example.inventory.entity.HotSkuJournalCheckpoint;
+import com.example.inventory.entity.Inventory;
+import com.example.inventory.entity.MovementType;
+import com.example.inventory.event.InventoryChangeEvent;
+import com.example.inventory.event.InventoryChangeEvent.ChangeType;
+import com.example.inventory.exception.DuplicateResourceException;
+import com.example.inventory.exception.InvalidOperationException;
+import com.example.inventory.exception.ResourceNotFoundException;
+import com.example.inventory.repository.HotSkuJournalCheckpointRepository;
+import com.example.inventory.repository.InventoryRepository;
+import com.example.inventory.repository.projection.StockLevel;
+import com.example.inventory.service.hotsku.HotSkuJournal;
+import com.example.inventory.service.hotsku.StripedStockCounter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Opt-in write-behind mode for flash-sale SKUs. A hot product's stock lives in a striped in-memory counter, so
+// adjustments never wait on its inventory row lock. Every accepted change is fsynced to a local journal (group
+// commit) before it is acknowledged, and the journal is applied to the database as one coalesced UPDATE per product
+// every flush interval, together with a checkpoint, so a crash replays exactly what was not yet flushed.
+// The in-memory counter is authoritative while a product is hot, which assumes a single application instance.
+@Service
+public class HotSkuService {
+
+    private static final Logger log = LoggerFactory.getLogger(HotSkuService.class);
+    private static final String FLUSH_REFERENCE = "hot-sku-flush";
+
+    private final Map<Long, HotSku> hotSkus = new ConcurrentHashMap<>();
+    private final List<HotSkuJournal.Entry> unflushed = new ArrayList<>(); // Left over from a failed flush
+    private HotSkuJournal journal;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private HotSkuJournalCheckpointRepository checkpointRepository;
+    @Autowired
+    private StockLedgerService stockLedgerService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${inventory.hot-skus.journal-dir:data/hot-sku-journal}")
+    private Path journalDirectory;
+    @Value("${inventory.hot-skus.journal-segment-bytes:16777216}")
+    private long journalSegmentBytes;
+    @Value("${inventory.hot-skus.stripes:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int stripes;
+
+    // Replays whatever a previous run journaled but never flushed, before any request can see the inventory
+    @PostConstruct
+    public void recover() throws IOException {
+        long checkpoint = checkpointRepository.findById(HotSkuJournalCheckpoint.ID)
+                .map(HotSkuJournalCheckpoint::getLastAppliedSeq)
+                .orElse(0L);
+        List<HotSkuJournal.Entry> entries = HotSkuJournal.readAfter(journalDirectory, checkpoint);
+        long lastSeq = checkpoint;
+        if (!entries.isEmpty()) {
+            applyToDatabase(entries);
+            lastSeq = entries.get(entries.size() - 1).seq();
+            log.info("Replayed {} hot-SKU journal entries up to seq {}", entries.size(), lastSeq);
+        }
+        journal = new HotSkuJournal(journalDirectory, journalSegmentBytes, lastSeq);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        journal.close(); // Syncs everything already accepted
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Final hot-SKU flush failed; the journal will be replayed on next start", e);
+        }
+    }
+
+    public boolean isHot(Long productId) {
+        return hotSkus.containsKey(productId);
+    }
+
+    public List<HotSkuDTO> getHotSkus() {
+        List<HotSkuDTO> result = new ArrayList<>();
+        hotSkus.forEach((productId, sku) -> {
+            StripedStockCounter counter = sku.ready.getNow(null);
+            if (counter != null) {
+                result.add(new HotSkuDTO(productId, counter.sum()));
+            }
+        });
+        return result;
+    }
+
+    // The counter starts from the row, read under its lock. Anyone who updated the row before that is included;
+    // anyone blocked behind the lock sees the product is hot once they get it, and retries through the counter.
+    public HotSkuDTO enable(Long productId) {
+        HotSku sku = new HotSku();
+        if (hotSkus.putIfAbsent(productId, sku) != null) {
+            throw new DuplicateResourceException("Product ID " + productId + " is already in hot-SKU mode.");
+        }
+        try {
+            int quantity = transactionTemplate.execute(status -> {
+                Inventory inventory = inventoryRepository.findForUpdateByProduct_ProductId(productId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Inventory not found for product ID: " + productId));
+                if (inventory.getReservedQuantity() != null && inventory.getReservedQuantity() > 0) {
+                    throw new InvalidOperationException("Cannot enable hot-SKU mode for product ID " + productId + " while reservations hold " + inventory.getReservedQuantity() + " units.");
+                }
+                return inventory.getQuantityInStock();
+            });
+            StripedStockCounter counter = new StripedStockCounter(quantity, stripes);
+            sku.ready.complete(counter);
+            return new HotSkuDTO(productId, counter.sum());
+        } catch (RuntimeException e) {
+            hotSkus.remove(productId, sku);
+            sku.ready.complete(null); // Waiting callers go back to the database path
+            throw e;
+        }
+    }
+
+    // Stops accepting changes, waits for the ones in flight to be journaled, flushes them and hands the product
+    // back to the database. If the flush fails the product stays sealed, and calling this again retries.
+    public void disable(Long productId) {
+        HotSku sku = hotSkus.get(productId);
+        StripedStockCounter counter = sku != null ? sku.ready.join() : null;
+        if (counter == null) {
+            throw new ResourceNotFoundException("Product ID " + productId + " is not in hot-SKU mode.");
+        }
+        if (!counter.isSealed()) {
+            counter.seal();
+        }
+        while (sku.inFlight.sum() > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        flush();
+        hotSkus.remove(productId, sku);
+    }
+
+    // Applies a change through the in-memory counter. Returns null when the product is not hot, in which case the
+    // caller uses the database. Movement types and references are not kept: the ledger gets one coalesced
+    // ADJUSTMENT per product per flush.
+    public Integer tryAdjust(Long productId, int delta) {
+        HotSku sku = hotSkus.get(productId);
+        StripedStockCounter counter = sku != null ? sku.ready.join() : null;
+        if (counter == null) {
+            return null;
+        }
+
+        sku.inFlight.increment();
+        try {
+            if (delta > 0 && counter.sum() > Integer.MAX_VALUE - delta) {
+                // Same ceiling as adjustQuantity enforces on the column; sum() is approximate while receipts race
+                throw new InvalidOperationException("Stock for product ID " + productId + " cannot exceed " + Integer.MAX_VALUE + ". Adjustment of " + delta + " would overflow.");
+            }
+            if (!counter.tryAdd(delta)) {
+                if (counter.isSealed()) {
+                    throw new InvalidOperationException("Product ID " + productId + " is leaving hot-SKU mode. Retry shortly.");
+                }
+                throw new InvalidOperationException("Insufficient stock for product ID: " + productId + ". Adjustment of " + delta + " would take stock below zero.");
+            }
+            try {
+                journal.append(productId, delta).join();
+            } catch (CompletionException e) {
+                if (!counter.tryAdd(-delta)) {
+                    log.error("Could not roll back unjournaled hot-SKU change of {} for product ID {}", delta, productId);
+                }
+                throw new IllegalStateException("Could not journal stock change for product ID " + productId, e.getCause());
+            }
+            return (int) counter.sum();
+        } finally {
+            sku.inFlight.decrement();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.hot-skus.flush-interval:200ms}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Hot-SKU flush failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void flush() {
+        List<HotSkuJournal.Entry> entries = new ArrayList<>(unflushed);
+        unflushed.clear();
+        entries.addAll(journal.drainDurable());
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            applyToDatabase(entries);
+        } catch (RuntimeException e) {
+            unflushed.addAll(entries);
+            throw e;
+        }
+        journal.discardUpTo(entries.get(entries.size() - 1).seq());
+    }
+
+    // One UPDATE per product, in product order so concurrent writers lock rows in the same order
+    private void applyToDatabase(List<HotSkuJournal.Entry> entries) {
+        Map<Long, Long> deltas = new TreeMap<>();
+        for (HotSkuJournal.Entry entry : entries) {
+            deltas.merge(entry.productId(), entry.delta(), Long::sum);
+        }
+        long lastSeq = entries.get(entries.size() - 1).seq();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            deltas.forEach((productId, delta) -> {
+                if (delta == 0) {
+                    return;
+                }
+                StockLevel level = inventoryRepository.applyFlushedDelta(productId, Math.toIntExact(delta)).orElse(null);
+                if (level == null) {
+                    log.error("Dropping hot-SKU delta of {} for product ID {}: inventory row no longer exists", delta, productId);
+                    return;
+                }
+                stockLedgerService.record(productId, MovementType.ADJUSTMENT, Math.toIntExact(delta),
+                        level.getQuantityInStock(), FLUSH_REFERENCE);
+                eventPublisher.publishEvent(InventoryChangeEvent.of(ChangeType.UPDATED, level, Math.toIntExact(delta)));
+            });
+            checkpointRepository.advanceTo(lastSeq);
+        });
+    }
+
+    private static class HotSku {
+        // Completes with the counter once enabled, or with null if enabling failed
+        private final CompletableFuture<StripedStockCounter> ready = new CompletableFuture<>();
+        private final LongAdder inFlight = new LongAdder();
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.inventory.service;
+
+import com.example.inventory.dto.inventory.BulkAdjustEntry;
+import com.example.inventory.dto.inventory.BulkAdjustRequest;
+import com.example.inventory.dto.inventory.BulkAdjustResultDTO;
+import com.example.inventory.dto.inventory.BulkAdjustRowResultDTO;
+import com.example.inventory.dto.inventory.BulkAdjustRowResultDTO.Status;
+import com.example.inventory.entity.MovementType;
+import com.example.inventory.event.InventoryChangeEvent;
+import com.example.inventory.event.InventoryChangeEvent.ChangeType;
+import com.example.inventory.exception.InvalidOperationException;
+import com.example.inventory.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Applies a cycle-count file of stock corrections in chunks of products, one transaction per chunk.
+// Each chunk locks its inventory rows in one SELECT ... FOR UPDATE ordered by product ID, so concurrent bulk runs take
+// their locks in the same order and cannot deadlock with each other; single-row writers only ever hold one row.
+// New levels are computed in memory and written with one JDBC batch of UPDATEs and one of ledger INSERTs.
+@Service
+public class InventoryBulkAdjustService {
+
+    private static final String LOCK_ROWS_SQL = """
+            SELECT i.inventory_id, i.product_id, i.quantity_in_stock, i.reserved_quantity, i.low_stock_threshold,
+                   p.category_id, p.supplier_id, p.purchase_price, p.selling_price
+            FROM inventory i
+            JOIN products p ON p.product_id = i.product_id
+            WHERE i.product_id = ANY (?)
+            ORDER BY i.product_id
+            FOR UPDATE OF i
+            """;
+
+    // Same row changes as the single-row paths: the generated low_stock flag follows quantity on its own
+    private static final String UPDATE_QUANTITY_SQL =
+            "UPDATE inventory SET quantity_in_stock = ?, last_updated = LOCALTIMESTAMP, version = version + 1 " +
+            "WHERE inventory_id = ?";
+    private static final int[] UPDATE_QUANTITY_TYPES = {Types.INTEGER, Types.BIGINT};
+
+    private static final String INSERT_MOVEMENT_SQL =
+            "INSERT INTO stock_movements (movement_id, product_id, movement_type, quantity_delta, quantity_after, reference, occurred_at) " +
+            "VALUES (?, ?, 'ADJUSTMENT', ?, ?, ?, LOCALTIMESTAMP)";
+    private static final int[] INSERT_MOVEMENT_TYPES = {Types.BIGINT, Types.BIGINT, Types.INTEGER, Types.INTEGER, Types.VARCHAR};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private SequenceIdAllocator idAllocator;
+    @Autowired
+    private HotSkuService hotSkuService;
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Products per transaction. Each chunk must commit well within inventory.sync.commit-grace.
+    @Value("${inventory.bulk-adjust.chunk-size:1000}")
+    private int chunkSize;
+
+    public BulkAdjustResultDTO adjust(BulkAdjustRequest request) {
+        List<BulkAdjustEntry> entries = request.getEntries();
+        BulkAdjustRowResultDTO[] results = new BulkAdjustRowResultDTO[entries.size()];
+
+        // Rows for the same product stay together in request order; products are visited in ID order
+        TreeMap<Long, List<Integer>> rowsByProduct = new TreeMap<>();
+        for (int row = 0; row < entries.size(); row++) {
+            BulkAdjustEntry entry = entries.get(row);
+            String problem = validate(entry);
+            if (problem != null) {
+                results[row] = rejected(entry != null ? entry.getProductId() : null, problem);
+            } else {
+                rowsByProduct.computeIfAbsent(entry.getProductId(), id -> new ArrayList<>()).add(row);
+            }
+        }
+
+        List<Long> chunk = new ArrayList<>(Math.min(chunkSize, rowsByProduct.size()));
+        for (Long productId : rowsByProduct.keySet()) {
+            if (hotSkuService.isHot(productId)) {
+                applyHot(productId, rowsByProduct.get(productId), entries, request.getReference(), results);
+                continue;
+            }
+            chunk.add(productId);
+            if (chunk.size() >= chunkSize) {
+                applyChunk(chunk, rowsByProduct, entries, request.getReference(), results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            applyChunk(chunk, rowsByProduct, entries, request.getReference(), results);
+        }
+
+        int applied = (int) Arrays.stream(results).filter(result -> result.getStatus() == Status.APPLIED).count();
+        return new BulkAdjustResultDTO(results.length, applied, results.length - applied, Arrays.asList(results));
+    }
+
+    private void applyChunk(List<Long> productIds, Map<Long, List<Integer>> rowsByProduct, List<BulkAdjustEntry> entries,
+                            String reference, BulkAdjustRowResultDTO[] results) {
+        Map<Integer, BulkAdjustRowResultDTO> chunkResults = new HashMap<>();
+        List<Long> becameHot = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<Long, LockedRow> locked = lockRows(productIds);
+                List<Object[]> updateArgs = new ArrayList<>(locked.size());
+                List<Object[]> movementArgs = new ArrayList<>();
+                List<InventoryChangeEvent> events = new ArrayList<>(locked.size());
+
+                for (Long productId : productIds) {
+                    List<Integer> rows = rowsByProduct.get(productId);
+                    LockedRow row = locked.get(productId);
+                    if (row == null) {
+                        for (int r : rows) {
+                            chunkResults.put(r, new BulkAdjustRowResultDTO(productId, Status.NOT_FOUND, null,
+                                    "Inventory not found for product ID: " + productId));
+                        }
+                        continue;
+                    }
+                    if (hotSkuService.isHot(productId)) {
+                        becameHot.add(productId); // Switched to hot mode before we locked the row; see HotSkuService.enable
+                        continue;
+                    }
+
+                    int quantity = row.quantity();
+                    for (int r : rows) {
+                        BulkAdjustEntry entry = entries.get(r);
+                        long target = entry.getQuantity() != null ? entry.getQuantity() : (long) quantity + entry.getDelta();
+                        if (target < row.reserved()) {
+                            chunkResults.put(r, rejected(productId, "Insufficient stock for product ID: " + productId
+                                    + ". Quantity " + target + " would be below zero or below the " + row.reserved()
+                                    + " units held by active reservations."));
+                            continue;
+                        }
+                        if (target > Integer.MAX_VALUE) {
+                            chunkResults.put(r, rejected(productId, "Quantity for product ID " + productId + " would overflow."));
+                            continue;
+                        }
+                        int delta = (int) (target - quantity);
+                        quantity = (int) target;
+                        if (delta != 0) {
+                            movementArgs.add(new Object[]{null, productId, delta, quantity, reference});
+                        }
+                        chunkResults.put(r, new BulkAdjustRowResultDTO(productId, Status.APPLIED, quantity, null));
+                    }
+                    if (quantity != row.quantity()) {
+                        updateArgs.add(new Object[]{quantity, row.inventoryId()});
+                        events.add(InventoryChangeEvent.of(ChangeType.UPDATED, row.inventoryId(), productId, row.categoryId(),
+                                row.supplierId(), quantity, quantity - row.quantity(), row.lowStockThreshold(),
+                                row.purchasePrice(), row.sellingPrice()));
+                    }
+                }
+
+                long[] movementIds = idAllocator.allocate("stock_movement_seq", movementArgs.size());
+                for (int i = 0; i < movementArgs.size(); i++) {
+                    movementArgs.get(i)[0] = movementIds[i];
+                }
+                if (!updateArgs.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPDATE_QUANTITY_SQL, updateArgs, UPDATE_QUANTITY_TYPES); // Already in ID order
+                }
+                if (!movementArgs.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_MOVEMENT_SQL, movementArgs, INSERT_MOVEMENT_TYPES);
+                }
+                events.forEach(eventPublisher::publishEvent); // One per product with the net change, after commit
+            });
+        } catch (DataAccessException e) {
+            // The whole chunk was rolled back, e.g. a lock timeout; nothing in it was applied
+            String message = "Chunk rejected by the database: " + e.getMostSpecificCause().getMessage();
+            for (Long productId : productIds) {
+                for (int r : rowsByProduct.get(productId)) {
+                    results[r] = rejected(productId, message);
+                }
+            }
+            return;
+        }
+        chunkResults.forEach((r, result) -> results[r] = result);
+        for (Long productId : becameHot) {
+            applyHot(productId, rowsByProduct.get(productId), entries, reference, results);
+        }
+    }
+
+    // Hot SKUs only take deltas, through the same path as the adjust endpoint (which also copes with the product
+    // leaving hot mode meanwhile). A counted absolute level cannot be applied to a counter that keeps moving.
+    private void applyHot(Long productId, List<Integer> rows, List<BulkAdjustEntry> entries, String reference,
+                          BulkAdjustRowResultDTO[] results) {
+        for (int r : rows) {
+            BulkAdjustEntry entry = entries.get(r);
+            if (entry.getDelta() == null) {
+                results[r] = rejected(productId, "Product ID " + productId
+                        + " is in hot-SKU mode; only deltas can be applied. Disable hot-SKU mode to set an absolute quantity.");
+                continue;
+            }
+            try {
+                int quantity = inventoryService.adjustStock(productId, entry.getDelta(), MovementType.ADJUSTMENT, reference);
+                results[r] = new BulkAdjustRowResultDTO(productId, Status.APPLIED, quantity, null);
+            } catch (ResourceNotFoundException e) {
+                results[r] = new BulkAdjustRowResultDTO(productId, Status.NOT_FOUND, null, e.getMessage());
+            } catch (InvalidOperationException e) {
+                results[r] = rejected(productId, e.getMessage());
+            }
+        }
+    }
+
+    private Map<Long, LockedRow> lockRows(List<Long> productIds) {
+        Map<Long, LockedRow> locked = new HashMap<>(productIds.size() * 2);
+        jdbcTemplate.query(LOCK_ROWS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", productIds.toArray())),
+                rs -> {
+                    LockedRow row = new LockedRow(rs.getLong("inventory_id"), rs.getInt("quantity_in_stock"),
+                            rs.getInt("reserved_quantity"), rs.getObject("low_stock_threshold", Integer.class),
+                            rs.getObject("category_id", Long.class), rs.getObject("supplier_id", Long.class),
+                            rs.getObject("purchase_price", Double.class), rs.getObject("selling_price", Double.class));
+                    locked.put(rs.getLong("product_id"), row);
+                });
+        return locked;
+    }
+
+    private static String validate(BulkAdjustEntry entry) {
+        if (entry == null || entry.getProductId() == null) {
+            return "Product ID is required.";
+        }
+        if ((entry.getDelta() == null) == (entry.getQuantity() == null)) {
+            return "Exactly one of delta or quantity is required.";
+        }
+        if (entry.getQuantity() != null && entry.getQuantity() < 0) {
+            return "Quantity cannot be negative.";
+        }
+        return null;
+    }
+
+    private static BulkAdjustRowResultDTO rejected(Long productId, String error) {
+        return new BulkAdjustRowResultDTO(productId, Status.REJECTED, null, error);
+    }
+
+    private record LockedRow(long inventoryId, int quantity, int reserved, Integer lowStockThreshold, Long categoryId,
+                             Long supplierId, Double purchasePrice, Double sellingPrice) {
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.inventory.service;
+
+import com.example.inventory.dto.inventory.InventoryStreamEventDTO;
+import com.example.inventory.event.InventoryChangeEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fans committed inventory changes out to Server-Sent Events subscribers (GET /api/inventory/stream).
+// Each subscriber has a bounded queue drained by its own virtual thread, so a slow client never blocks the
+// committing transaction or other clients; a client whose queue overflows is disconnected and has to reconnect.
+@Service
+public class InventoryChangeStream {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryChangeStream.class);
+    private static final String EVENT_NAME = "inventory-change";
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong eventSequence = new AtomicLong();
+    private final int bufferSize;
+    private final Duration emitterTimeout;
+    private final Duration heartbeatInterval;
+
+    public InventoryChangeStream(@Value("${inventory.stream.buffer-size:256}") int bufferSize,
+                                 @Value("${inventory.stream.timeout:30m}") Duration emitterTimeout,
+                                 @Value("${inventory.stream.heartbeat-interval:15s}") Duration heartbeatInterval,
+                                 MeterRegistry meterRegistry) {
+        this.bufferSize = bufferSize;
+        this.emitterTimeout = emitterTimeout;
+        this.heartbeatInterval = heartbeatInterval;
+        Gauge.builder("inventory.stream.subscribers", subscribers, Set::size)
+                .description("Connected inventory change stream clients")
+                .register(meterRegistry);
+    }
+
+    // Null filters match everything
+    public SseEmitter subscribe(Long productId, Long categoryId, boolean lowStockOnly) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, productId, categoryId, lowStockOnly);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        Thread.ofVirtual().name("inventory-stream").start(subscriber::drain);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInventoryChange(InventoryChangeEvent event) {
+        long id = eventSequence.incrementAndGet();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(event) && !subscriber.queue.offer(new Sequenced(id, event))) {
+                log.info("Disconnecting slow inventory stream subscriber: {} events buffered", bufferSize);
+                subscriber.emitter.completeWithError(new IOException("Subscriber buffer overflow"));
+                subscriber.close();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+            subscriber.close();
+        }
+    }
+
+    // Only the fields the stream has always carried; the event's prices stay inside the application
+    private static InventoryStreamEventDTO toStreamEvent(InventoryChangeEvent event) {
+        return new InventoryStreamEventDTO(event.type(), event.inventoryId(), event.productId(), event.categoryId(),
+                event.quantityInStock(), event.lowStockThreshold(), event.lowStock(), event.occurredAt());
+    }
+
+    private record Sequenced(long id, InventoryChangeEvent event) {
+    }
+
+    private class Subscriber {
+        private final SseEmitter emitter;
+        private final Long productId;
+        private final Long categoryId;
+        private final boolean lowStockOnly;
+        private final BlockingQueue<Sequenced> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Thread drainer;
+
+        Subscriber(SseEmitter emitter, Long productId, Long categoryId, boolean lowStockOnly) {
+            this.emitter = emitter;
+            this.productId = productId;
+            this.categoryId = categoryId;
+            this.lowStockOnly = lowStockOnly;
+        }
+
+        boolean matches(InventoryChangeEvent event) {
+            return (productId == null || productId.equals(event.productId()))
+                    && (categoryId == null || categoryId.equals(event.categoryId()))
+                    && (!lowStockOnly || event.lowStock());
+        }
+
+        // Runs on the subscriber's virtual thread until the connection closes
+        void drain() {
+            drainer = Thread.currentThread();
+            try {
+                while (!closed.get()) {
+                    Sequenced next = queue.poll(heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat")); // Also detects vanished clients
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(next.id()))
+                                .name(EVENT_NAME)
+                                .data(toStreamEvent(next.event()), MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e); // Client went away or the emitter already completed
+            } finally {
+                close();
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                Thread thread = drainer;
+                if (thread != null && thread != Thread.currentThread()) {
+                    thread.interrupt();
+                }
+            }
+        }
+    }
+}
@@ -1,29 +1,165 @@
 package com.example.inventory.service;
 
+import com.example.inventory.dto.common.BatchGetItemDTO;
+import com.example.inventory.dto.common.BatchGetRequest;
+import com.example.inventory.dto.inventory.InventoryChangesDTO;
+import com.example.inventory.dto.inventory.InventoryDTO;
+import com.example.inventory.dto.inventory.InventoryTombstoneDTO;
+import com.example.inventory.dto.inventory.StockAvailabilityDTO;
 import com.example.inventory.entity.Inventory;
+import com.example.inventory.entity.MovementType;
 import com.example.inventory.entity.Product;
+import com.example.inventory.event.InventoryChangeEvent;
+import com.example.inventory.event.InventoryChangeEvent.ChangeType;
 import com.example.inventory.repository.InventoryRepository;
+import com.example.inventory.repository.InventoryTombstoneRepository;
 import com.example.inventory.repository.ProductRepository;
 import com.example.inventory.exception.ResourceNotFoundException;
 import com.example.inventory.exception.DuplicateResourceException;
 import com.example.inventory.exception.InvalidOperationException;
+import com.example.inventory.exception.PreconditionFailedException;
+import com.example.inventory.repository.projection.StockLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class InventoryService {
 
+    private static final Logger log = LoggerFactory.getLogger(InventoryService.class);
+
     @Autowired
     private InventoryRepository inventoryRepository;
     @Autowired
     private ProductRepository productRepository;
+    @Autowired
+    private InventoryTombstoneRepository inventoryTombstoneRepository;
+    @Autowired
+    private StockLedgerService stockLedgerService;
+    @Autowired
+    private HotSkuService hotSkuService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // Change feed; listeners see events after commit
+
+    // last_updated is stamped before commit, so a row can become visible with a timestamp older than a watermark
+    // already handed out. Sync windows stop this far behind the clock; it must exceed the longest write transaction.
+    @Value("${inventory.sync.commit-grace:5s}")
+    private Duration syncCommitGrace;
+
+    // Deletions are only reported to clients that sync at least this often; older watermarks must resync from scratch
+    @Value("${inventory.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    private static final LocalDateTime SYNC_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // Read endpoints use DTO projections: one SQL join per call regardless of result size
+    public Slice<InventoryDTO> getInventoryPage(Long after, int limit, Long categoryId, Long supplierId, String skuPrefix,
+                                             Integer minQuantity, Integer maxQuantity) {
+        if (minQuantity != null && maxQuantity != null && minQuantity > maxQuantity) {
+            throw new InvalidOperationException("Minimum quantity cannot be greater than maximum quantity.");
+        }
+        return inventoryRepository.findDtoPageAfter(Paging.startAfter(after), categoryId, supplierId,
+                Paging.likePrefix(skuPrefix), minQuantity, maxQuantity, Paging.keysetPage(limit));
+    }
+
+    // Rows changed and deleted since the client's watermark. Changed rows and tombstones are both paged on
+    // (timestamp, inventoryId) and merged into one cursor, so the next call continues exactly where this one ended.
+    @Transactional(readOnly = true)
+    public InventoryChangesDTO getChangesSince(LocalDateTime since, Long afterId, int limit) {
+        LocalDateTime from = since != null ? since : SYNC_EPOCH;
+        LocalDateTime now = databaseNow(); // The clock that stamps last_updated and deleted_at
+        if (since != null && since.isBefore(now.minus(tombstoneRetention))) {
+            // Tombstones from that far back may have been purged, so the deletions since then can't be listed
+            throw new InvalidOperationException("Watermark " + since + " is older than the " + tombstoneRetention.toDays()
+                    + "-day sync retention window. Omit 'since' to resync from scratch.");
+        }
+        LocalDateTime upTo = now.minus(syncCommitGrace);
+        if (!upTo.isAfter(from)) {
+            // Caught up with everything that is safe to hand out; never move the watermark backwards
+            return new InventoryChangesDTO(List.of(), List.of(), from, null, false);
+        }
+
+        long startAfter = Paging.startAfter(afterId);
+        Slice<InventoryDTO> changedPage = inventoryRepository.findDtosChangedAfter(from, startAfter, upTo,
+                Paging.keysetPage(limit));
+        // A full sync starts with no rows on the client, so there is nothing for it to delete
+        Slice<InventoryTombstoneDTO> deletedPage = since != null
+                ? inventoryTombstoneRepository.findDtosDeletedAfter(from, startAfter, upTo, Paging.keysetPage(limit))
+                : new SliceImpl<>(List.of());
+        if (!changedPage.hasNext() && !deletedPage.hasNext()) {
+            return new InventoryChangesDTO(changedPage.getContent(), deletedPage.getContent(), upTo, null, false);
+        }
+
+        // Stop at the earliest last key of a page that was cut short; entries past it come again on the next call
+        SyncCursor end = null;
+        if (changedPage.hasNext()) {
+            end = SyncCursor.of(changedPage.getContent().get(changedPage.getNumberOfElements() - 1));
+        }
+        if (deletedPage.hasNext()) {
+            SyncCursor lastDeleted = SyncCursor.of(deletedPage.getContent().get(deletedPage.getNumberOfElements() - 1));
+            if (end == null || lastDeleted.compareTo(end) < 0) {
+                end = lastDeleted;
+            }
+        }
+        SyncCursor boundary = end;
+        List<InventoryDTO> changed = changedPage.getContent().stream()
+                .filter(dto -> SyncCursor.of(dto).compareTo(boundary) <= 0)
+                .toList();
+        List<InventoryTombstoneDTO> deleted = deletedPage.getContent().stream()
+                .filter(dto -> SyncCursor.of(dto).compareTo(boundary) <= 0)
+                .toList();
+        return new InventoryChangesDTO(changed, deleted, boundary.at(), boundary.inventoryId(), true);
+    }
+
+    // Tombstones older than the retention window can no longer be asked for: getChangesSince rejects such watermarks
+    @Scheduled(fixedDelayString = "${inventory.sync.tombstone-purge-interval:1h}",
+            initialDelayString = "${inventory.sync.tombstone-purge-interval:1h}")
+    @Transactional
+    public void purgeTombstones() {
+        LocalDateTime cutoff = databaseNow().minus(tombstoneRetention);
+        int purged = inventoryTombstoneRepository.deleteDeletedBefore(cutoff);
+        log.debug("Purged {} inventory tombstones deleted before {}", purged, cutoff);
+    }
+
+    // Same value as LOCALTIMESTAMP in the statements that stamp rows, not the application server's clock
+    private LocalDateTime databaseNow() {
+        return jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", LocalDateTime.class);
+    }
 
-    public List<Inventory> getAllInventory() {
-        return inventoryRepository.findAll();
+    // Position in the merged (timestamp, inventoryId) order of changed rows and tombstones
+    private record SyncCursor(LocalDateTime at, long inventoryId) implements Comparable<SyncCursor> {
+
+        static SyncCursor of(InventoryDTO dto) {
+            return new SyncCursor(dto.getLastUpdated(), dto.getInventoryId());
+        }
+
+        static SyncCursor of(InventoryTombstoneDTO dto) {
+            return new SyncCursor(dto.getDeletedAt(), dto.getInventoryId());
+        }
+
+        @Override
+        public int compareTo(SyncCursor other) {
+            int byTime = at.compareTo(other.at);
+            return byTime != 0 ? byTime : Long.compare(inventoryId, other.inventoryId);
+        }
     }
 
     public Inventory getInventoryByProductId(Long productId) { // Changed return type to Inventory and removed Optional
@@ -31,6 +167,17 @@ public class InventoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory not found for product ID: " + productId));
     }
 
+    public InventoryDTO getInventoryDtoByProductId(Long productId) {
+        return inventoryRepository.findDtoByProductId(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Inventory not found for product ID: " + productId));
+    }
+
+    // Keyed by product ID like GET /api/inventory/{productId}, or by SKU
+    public List<BatchGetItemDTO<InventoryDTO>> batchGetInventory(BatchGetRequest request) {
+        return BatchLookup.resolve(request, inventoryRepository::findDtosByProductIds, dto -> dto.getProduct().getProductId(),
+                inventoryRepository::findDtosBySkus, dto -> dto.getProduct().getSku());
+    }
+
     public Inventory getInventoryById(Long id) { // Added this helper for update/delete by inventory ID if needed
         return inventoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory not found with ID: " + id));
@@ -47,7 +194,7 @@ public class InventoryService {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
 
-        if (inventoryRepository.findByProduct_ProductId(productId).isPresent()) {
+        if (inventoryRepository.existsByProduct_ProductId(productId)) {
             throw new DuplicateResourceException("Inventory record already exists for product ID: " + productId);
         }
 
@@ -56,31 +203,102 @@ public class InventoryService {
         newInventory.setQuantityInStock(inventory.getQuantityInStock());
         newInventory.setLowStockThreshold(inventory.getLowStockThreshold());
 
-        return inventoryRepository.save(newInventory);
+        Inventory savedInventory = inventoryRepository.save(newInventory);
+        int initialQuantity = savedInventory.getQuantityInStock() != null ? savedInventory.getQuantityInStock() : 0;
+        stockLedgerService.record(productId, MovementType.ADJUSTMENT, initialQuantity, initialQuantity, null);
+        eventPublisher.publishEvent(InventoryChangeEvent.of(ChangeType.CREATED, savedInventory, initialQuantity));
+        return savedInventory;
     }
 
     @Transactional
-    public Inventory updateInventory(Long productId, Inventory updatedInventory) {
+    public Inventory updateInventory(Long productId, Inventory updatedInventory, Long expectedVersion) {
         // Find inventory by Product ID, as this is how it's typically fetched/updated in this context
-        Inventory existingInventory = inventoryRepository.findByProduct_ProductId(productId)
+        Inventory existingInventory = inventoryRepository.findForUpdateByProduct_ProductId(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory not found for product ID: " + productId));
+        // If-Match: compared under the row lock, so nothing can change between this check and the update
+        if (expectedVersion != null && !expectedVersion.equals(existingInventory.getVersion())) {
+            throw new PreconditionFailedException("Inventory for product ID " + productId + " has been modified since version " + expectedVersion + ".");
+        }
+        requireNotHot(productId); // Checked under the row lock, see HotSkuService.enable
+        int previousQuantity = existingInventory.getQuantityInStock();
+        int reserved = existingInventory.getReservedQuantity() != null ? existingInventory.getReservedQuantity() : 0;
+        if (updatedInventory.getQuantityInStock() != null && updatedInventory.getQuantityInStock() < reserved) {
+            throw new InvalidOperationException("Quantity cannot be set below the " + reserved + " units held by active reservations for product ID: " + productId);
+        }
 
         // Update fields
         existingInventory.setQuantityInStock(updatedInventory.getQuantityInStock());
         existingInventory.setLowStockThreshold(updatedInventory.getLowStockThreshold());
 
-        return inventoryRepository.save(existingInventory);
+        Inventory savedInventory = inventoryRepository.save(existingInventory);
+        int quantityDelta = 0;
+        if (savedInventory.getQuantityInStock() != null) {
+            int newQuantity = savedInventory.getQuantityInStock();
+            quantityDelta = newQuantity - previousQuantity;
+            stockLedgerService.record(productId, MovementType.ADJUSTMENT, quantityDelta, newQuantity, null);
+        }
+        eventPublisher.publishEvent(InventoryChangeEvent.of(ChangeType.UPDATED, savedInventory, quantityDelta));
+        return savedInventory;
     }
 
-    public List<Inventory> getLowStockProducts() {
-        return inventoryRepository.findLowStockProducts();
+    // Not @Transactional: hot SKUs are adjusted in memory without ever taking a database connection
+    public int adjustStock(Long productId, int delta, MovementType type, String reference) {
+        MovementType movementType = type != null ? type : MovementType.ADJUSTMENT;
+        if (movementType == MovementType.RECEIPT && delta <= 0) {
+            throw new InvalidOperationException("A receipt must increase stock; delta must be positive.");
+        }
+        if (movementType == MovementType.SALE && delta >= 0) {
+            throw new InvalidOperationException("A sale must decrease stock; delta must be negative.");
+        }
+
+        Integer hotQuantity = hotSkuService.tryAdjust(productId, delta);
+        if (hotQuantity != null) {
+            return hotQuantity;
+        }
+        Integer quantity = transactionTemplate.execute(status -> {
+            // One round trip on the happy path; the existence probe only runs to explain a rejected adjustment
+            StockLevel level = inventoryRepository.adjustQuantity(productId, delta)
+                    .orElseThrow(() -> inventoryRepository.existsByProduct_ProductId(productId)
+                            ? new InvalidOperationException("Insufficient stock for product ID: " + productId + ". Adjustment of " + delta + " would take stock below zero, below active reservations or above " + Integer.MAX_VALUE + ".")
+                            : new ResourceNotFoundException("Inventory not found for product ID: " + productId));
+            if (hotSkuService.isHot(productId)) {
+                status.setRollbackOnly(); // Switched to hot mode while we waited for the row lock
+                return null;
+            }
+            stockLedgerService.record(productId, movementType, delta, level.getQuantityInStock(), reference);
+            eventPublisher.publishEvent(InventoryChangeEvent.of(ChangeType.UPDATED, level, delta));
+            return level.getQuantityInStock();
+        });
+        return quantity != null ? quantity : adjustStock(productId, delta, movementType, reference);
+    }
+
+    private void requireNotHot(Long productId) {
+        if (hotSkuService.isHot(productId)) {
+            throw new InvalidOperationException("Product ID " + productId + " is in hot-SKU mode. Use the adjust endpoint or disable hot-SKU mode first.");
+        }
+    }
+
+    public StockAvailabilityDTO getAvailability(Long productId) {
+        return inventoryRepository.findAvailabilityByProductId(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Inventory not found for product ID: " + productId));
+    }
+
+    public List<InventoryDTO> getLowStockProducts() {
+        return inventoryRepository.findLowStockDtos();
     }
 
     @Transactional
     public void deleteInventory(Long id) { // This deletes by inventory ID, not product ID
-        if (!inventoryRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Inventory not found with ID: " + id);
+        Inventory inventory = inventoryRepository.findWithProductByInventoryId(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Inventory not found with ID: " + id));
+        requireNotHot(inventory.getProduct().getProductId());
+        if (inventory.getReservedQuantity() != null && inventory.getReservedQuantity() > 0) {
+            throw new InvalidOperationException("Cannot delete inventory ID " + id + " while active reservations hold " + inventory.getReservedQuantity() + " units.");
         }
-        inventoryRepository.deleteById(id);
+        inventoryRepository.delete(inventory);
+        stockLedgerService.record(inventory.getProduct().getProductId(), MovementType.ADJUSTMENT,
+                -inventory.getQuantityInStock(), 0, null);
+        inventoryTombstoneRepository.recordDeletion(inventory.getInventoryId(), inventory.getProduct().getProductId());
+        eventPublisher.publishEvent(InventoryChangeEvent.of(ChangeType.DELETED, inventory, -inventory.getQuantityInStock()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.example.inventory.service;
+
+import com.example.inventory.exception.InvalidOperationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+// Shared helpers for the keyset-paginated listing endpoints
+public final class Paging {
+
+    public static final String DEFAULT_LIMIT = "50"; // String so it can be used as a @RequestParam default
+    public static final int MAX_LIMIT = 500;
+
+    private Paging() {
+    }
+
+    // Builds the first-page request for a keyset query; sorting is fixed by the query itself.
+    // Oversized limits are clamped so a single request can never pull an unbounded result set.
+    public static Pageable keysetPage(int limit) {
+        if (limit < 1) {
+            throw new InvalidOperationException("Page limit must be at least 1.");
+        }
+        return PageRequest.ofSize(Math.min(limit, MAX_LIMIT));
+    }
+
+    // Keyset cursors start before the first generated ID
+    public static long startAfter(Long after) {
+        return after != null ? after : 0L;
+    }
+
+    // Turns a raw prefix into a LIKE pattern, escaping wildcard characters so they match literally
+    public static String likePrefix(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return null;
+        }
+        String escaped = prefix.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.inventory.service;
+
+import com.example.inventory.dto.imports.ImportResultDTO;
+import com.example.inventory.dto.imports.ImportRowErrorDTO;
+import com.example.inventory.dto.imports.ProductImportRow;
+import com.example.inventory.event.InventoryChangeEvent;
+import com.example.inventory.event.InventoryChangeEvent.ChangeType;
+import com.example.inventory.event.ProductChangeEvent;
+import com.example.inventory.exception.InvalidOperationException;
+import com.example.inventory.repository.CategoryRepository;
+import com.example.inventory.repository.ProductRepository;
+import com.example.inventory.repository.SupplierRepository;
+import com.example.inventory.service.UniqueKeyFilters.KeySpace;
+import com.example.inventory.service.imports.CsvImportRowReader;
+import com.example.inventory.service.imports.ImportRow;
+import com.example.inventory.service.imports.ImportRowReader;
+import com.example.inventory.service.imports.NdjsonImportRowReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Streams a catalog upload into the products and inventory tables in fixed-size chunks.
+// Each chunk resolves its references in bulk, is written with JDBC batch inserts and commits on its own,
+// so memory use depends on the batch size rather than the file size.
+@Service
+public class ProductImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_PRODUCT_SQL =
+            "INSERT INTO products (product_id, name, sku, description, category_id, supplier_id, purchase_price, selling_price) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] INSERT_PRODUCT_TYPES =
+            {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BIGINT, Types.BIGINT, Types.DOUBLE, Types.DOUBLE};
+
+    private static final String INSERT_INVENTORY_SQL =
+            "INSERT INTO inventory (inventory_id, product_id, quantity_in_stock, low_stock_threshold, created_at, last_updated) " +
+            "VALUES (?, ?, ?, ?, LOCALTIMESTAMP, LOCALTIMESTAMP)";
+    private static final int[] INSERT_INVENTORY_TYPES = {Types.BIGINT, Types.BIGINT, Types.INTEGER, Types.INTEGER};
+
+    // Opening stock goes into the ledger like any other inventory creation
+    private static final String INSERT_MOVEMENT_SQL =
+            "INSERT INTO stock_movements (movement_id, product_id, movement_type, quantity_delta, quantity_after, occurred_at) " +
+            "VALUES (?, ?, 'ADJUSTMENT', ?, ?, LOCALTIMESTAMP)";
+    private static final int[] INSERT_MOVEMENT_TYPES = {Types.BIGINT, Types.BIGINT, Types.INTEGER, Types.INTEGER};
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private SupplierRepository supplierRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SequenceIdAllocator idAllocator;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private Validator validator;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private UniqueKeyFilters uniqueKeys;
+
+    @Value("${inventory.import.batch-size:1000}")
+    private int batchSize;
+
+    public ImportResultDTO importCsv(InputStream body) {
+        try (ImportRowReader reader = new CsvImportRowReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            return importRows(reader);
+        } catch (IOException e) {
+            throw new InvalidOperationException("Failed to read CSV upload: " + e.getMessage(), e);
+        }
+    }
+
+    public ImportResultDTO importNdjson(InputStream body) {
+        try (ImportRowReader reader = new NdjsonImportRowReader(new InputStreamReader(body, StandardCharsets.UTF_8), objectMapper)) {
+            return importRows(reader);
+        } catch (IOException e) {
+            throw new InvalidOperationException("Failed to read NDJSON upload: " + e.getMessage(), e);
+        }
+    }
+
+    private ImportResultDTO importRows(ImportRowReader reader) throws IOException {
+        ImportResultDTO result = new ImportResultDTO();
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        ImportRow row;
+        while ((row = reader.next()) != null) {
+            result.setTotalRows(result.getTotalRows() + 1);
+            if (row.error() != null) {
+                reject(result, row.line(), null, row.error());
+                continue;
+            }
+            String violation = firstViolation(row.data());
+            if (violation != null) {
+                reject(result, row.line(), row.data().getSku(), violation);
+                continue;
+            }
+            batch.add(row);
+            if (batch.size() >= batchSize) {
+                writeBatch(batch, result);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, result);
+        }
+        return result;
+    }
+
+    private void writeBatch(List<ImportRow> batch, ImportResultDTO result) {
+        Set<String> skus = new HashSet<>();
+        Set<Long> categoryIds = new HashSet<>();
+        Set<Long> supplierIds = new HashSet<>();
+        for (ImportRow row : batch) {
+            skus.add(row.data().getSku());
+            categoryIds.add(row.data().getCategoryId());
+            supplierIds.add(row.data().getSupplierId());
+        }
+
+        // One query each for SKU collisions and reference checks, instead of three per row.
+        // Only SKUs the Bloom filter cannot rule out are queried; for a catalog of new products that is usually none.
+        Set<String> possibleSkus = new HashSet<>();
+        for (String sku : skus) {
+            if (uniqueKeys.mightExist(KeySpace.PRODUCT_SKU, sku)) {
+                possibleSkus.add(sku);
+            }
+        }
+        Set<String> existingSkus = possibleSkus.isEmpty()
+                ? Set.of() : new HashSet<>(productRepository.findExistingSkus(possibleSkus));
+        Set<Long> knownCategories = new HashSet<>(categoryRepository.findExistingIds(categoryIds));
+        Set<Long> knownSuppliers = new HashSet<>(supplierRepository.findExistingIds(supplierIds));
+
+        List<ImportRow> accepted = new ArrayList<>(batch.size());
+        Set<String> batchSkus = new HashSet<>();
+        for (ImportRow row : batch) {
+            ProductImportRow data = row.data();
+            if (existingSkus.contains(data.getSku())) {
+                reject(result, row.line(), data.getSku(), "Product with SKU '" + data.getSku() + "' already exists.");
+            } else if (!batchSkus.add(data.getSku())) {
+                reject(result, row.line(), data.getSku(), "Duplicate SKU '" + data.getSku() + "' appears earlier in the upload.");
+            } else if (!knownCategories.contains(data.getCategoryId())) {
+                reject(result, row.line(), data.getSku(), "Category not found with ID: " + data.getCategoryId());
+            } else if (!knownSuppliers.contains(data.getSupplierId())) {
+                reject(result, row.line(), data.getSku(), "Supplier not found with ID: " + data.getSupplierId());
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        // IDs are reserved up front from the same pooled sequences the entities use
+        int inventoryRows = (int) accepted.stream().filter(row -> row.data().getQuantityInStock() != null).count();
+        long[] productIds = idAllocator.allocate("product_seq", accepted.size());
+        long[] inventoryIds = idAllocator.allocate("inventory_seq", inventoryRows);
+
+        List<Object[]> productArgs = new ArrayList<>(accepted.size());
+        List<Object[]> inventoryArgs = new ArrayList<>(inventoryRows);
+        List<Object[]> movementArgs = new ArrayList<>(inventoryRows);
+        List<Object> events = new ArrayList<>(accepted.size() + inventoryRows);
+        for (int i = 0; i < accepted.size(); i++) {
+            ProductImportRow data = accepted.get(i).data();
+            productArgs.add(new Object[]{productIds[i], data.getName(), data.getSku(), data.getDescription(),
+                    data.getCategoryId(), data.getSupplierId(), data.getPurchasePrice(), data.getSellingPrice()});
+            events.add(new ProductChangeEvent(ProductChangeEvent.ChangeType.CREATED, productIds[i], data.getName(),
+                    data.getSku(), data.getDescription()));
+            if (data.getQuantityInStock() != null) {
+                int threshold = data.getLowStockThreshold() != null ? data.getLowStockThreshold() : 0;
+                long inventoryId = inventoryIds[inventoryArgs.size()];
+                inventoryArgs.add(new Object[]{inventoryId, productIds[i], data.getQuantityInStock(), threshold});
+                events.add(InventoryChangeEvent.of(ChangeType.CREATED, inventoryId, productIds[i], data.getCategoryId(),
+                        data.getSupplierId(), data.getQuantityInStock(), data.getQuantityInStock(), threshold,
+                        data.getPurchasePrice(), data.getSellingPrice()));
+                if (data.getQuantityInStock() != 0) {
+                    movementArgs.add(new Object[]{null, productIds[i], data.getQuantityInStock(), data.getQuantityInStock()});
+                }
+            }
+        }
+        long[] movementIds = idAllocator.allocate("stock_movement_seq", movementArgs.size());
+        for (int i = 0; i < movementArgs.size(); i++) {
+            movementArgs.get(i)[0] = movementIds[i];
+        }
+
+        for (ImportRow row : accepted) {
+            uniqueKeys.record(KeySpace.PRODUCT_SKU, row.data().getSku());
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_PRODUCT_SQL, productArgs, INSERT_PRODUCT_TYPES);
+                if (!inventoryArgs.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_INVENTORY_SQL, inventoryArgs, INSERT_INVENTORY_TYPES);
+                }
+                if (!movementArgs.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_MOVEMENT_SQL, movementArgs, INSERT_MOVEMENT_TYPES);
+                }
+                events.forEach(eventPublisher::publishEvent); // Delivered to listeners once the chunk commits
+            });
+            result.setImportedProducts(result.getImportedProducts() + productArgs.size());
+            result.setImportedInventory(result.getImportedInventory() + inventoryArgs.size());
+        } catch (DataAccessException e) {
+            // Usually a concurrent writer claimed one of the SKUs after the pre-check; the whole chunk was rolled back
+            String message = "Batch rejected by the database: " + e.getMostSpecificCause().getMessage();
+            for (ImportRow row : accepted) {
+                reject(result, row.line(), row.data().getSku(), message);
+            }
+        }
+    }
+
+    private String firstViolation(ProductImportRow row) {
+        Set<ConstraintViolation<ProductImportRow>> violations = validator.validate(row);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    private void reject(ImportResultDTO result, long line, String sku, String message) {
+        result.setFailedRows(result.getFailedRows() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ImportRowErrorDTO(line, sku, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+}
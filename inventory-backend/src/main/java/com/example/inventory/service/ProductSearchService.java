@@ -0,0 +1,144 @@
+package com.example.inventory.service;
+
+import com.example.inventory.dto.product.ProductDTO;
+import com.example.inventory.dto.product.ProductSearchHitDTO;
+import com.example.inventory.dto.product.ProductSuggestionDTO;
+import com.example.inventory.event.ProductChangeEvent;
+import com.example.inventory.exception.InvalidOperationException;
+import com.example.inventory.repository.ProductRepository;
+import com.example.inventory.service.search.ProductSearchIndex;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Product search and autocomplete over the in-memory ProductSearchIndex.
+// The index is loaded from a JDBC cursor in the background once the application is up, then kept current from
+// committed ProductChangeEvents. Until the load finishes, results only cover the products loaded so far.
+@Service
+public class ProductSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchService.class);
+
+    public static final int MAX_LIMIT = 100;
+    private static final int FETCH_SIZE = 5000;
+    private static final String PRODUCTS_SQL = "SELECT product_id, name, sku, description FROM products";
+
+    private final ProductSearchIndex index = new ProductSearchIndex();
+    // Products changed by events while the initial load runs; the load must not overwrite them with older rows
+    private final Set<Long> changedDuringLoad = new HashSet<>();
+    private boolean loading = true; // Guarded by changedDuringLoad
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate cursorJdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void init() {
+        cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        cursorJdbcTemplate.setFetchSize(FETCH_SIZE);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true); // PostgreSQL only streams a cursor inside a transaction
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLoading() {
+        Thread.ofVirtual().name("product-search-load").start(this::loadIndex);
+    }
+
+    // Products come back from the database in score order, with their current details
+    public List<ProductSearchHitDTO> search(String query, int limit) {
+        List<ProductSearchIndex.Hit> hits = index.search(query, checkLimit(limit));
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = hits.stream().map(ProductSearchIndex.Hit::productId).toList();
+        Map<Long, ProductDTO> products = productRepository.findDtosByIds(ids).stream()
+                .collect(Collectors.toMap(ProductDTO::getProductId, Function.identity()));
+        List<ProductSearchHitDTO> results = new ArrayList<>(hits.size());
+        for (ProductSearchIndex.Hit hit : hits) {
+            ProductDTO product = products.get(hit.productId());
+            if (product != null) { // Deleted since the index was searched
+                results.add(new ProductSearchHitDTO(hit.score(), product));
+            }
+        }
+        return results;
+    }
+
+    // Answered from memory alone, so it can be called on every keystroke
+    public List<ProductSuggestionDTO> autocomplete(String prefix, int limit) {
+        return index.autocomplete(prefix, checkLimit(limit)).stream()
+                .map(suggestion -> new ProductSuggestionDTO(suggestion.productId(), suggestion.name(), suggestion.sku()))
+                .toList();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChange(ProductChangeEvent event) {
+        synchronized (changedDuringLoad) {
+            if (loading) {
+                changedDuringLoad.add(event.productId());
+            }
+            if (event.type() == ProductChangeEvent.ChangeType.DELETED) {
+                index.remove(event.productId());
+            } else {
+                index.upsert(event.productId(), event.name(), event.sku(), event.description());
+            }
+        }
+    }
+
+    private void loadIndex() {
+        long started = System.nanoTime();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> cursorJdbcTemplate.query(PRODUCTS_SQL, rs -> {
+                long productId = rs.getLong("product_id");
+                String name = rs.getString("name");
+                String sku = rs.getString("sku");
+                String description = rs.getString("description");
+                synchronized (changedDuringLoad) {
+                    if (!changedDuringLoad.contains(productId)) {
+                        index.upsert(productId, name, sku, description);
+                    }
+                }
+            }));
+            index.trimToSize();
+            log.info("Indexed {} products for search in {} ms", index.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Failed to load the product search index; search only covers products changed since startup", e);
+        } finally {
+            synchronized (changedDuringLoad) {
+                loading = false;
+                changedDuringLoad.clear();
+            }
+        }
+    }
+
+    private static int checkLimit(int limit) {
+        if (limit < 1) {
+            throw new InvalidOperationException("Limit must be at least 1.");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
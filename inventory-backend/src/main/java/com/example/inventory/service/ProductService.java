@@ -1,21 +1,32 @@
 package com.example.inventory.service;
 
+import com.example.inventory.dto.common.BatchGetItemDTO;
+import com.example.inventory.dto.common.BatchGetRequest;
+import com.example.inventory.dto.category.CategoryView;
+import com.example.inventory.dto.product.ProductDTO;
+import com.example.inventory.dto.supplier.SupplierView;
 import com.example.inventory.entity.Category;
 import com.example.inventory.entity.Inventory;
 import com.example.inventory.entity.Product;
 import com.example.inventory.entity.Supplier;
+import com.example.inventory.event.ProductChangeEvent;
+import com.example.inventory.event.ProductValuationChangeEvent;
 import com.example.inventory.repository.ProductRepository;
-import com.example.inventory.repository.CategoryRepository;
-import com.example.inventory.repository.SupplierRepository;
 import com.example.inventory.repository.InventoryRepository;
+import com.example.inventory.repository.StockReservationRepository;
 import com.example.inventory.exception.ResourceNotFoundException;
 import com.example.inventory.exception.DuplicateResourceException;
 import com.example.inventory.exception.InvalidOperationException;
+import com.example.inventory.exception.PreconditionFailedException;
+import com.example.inventory.service.UniqueKeyFilters.KeySpace;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -24,14 +35,24 @@ public class ProductService {
     @Autowired
     private ProductRepository productRepository;
     @Autowired
-    private CategoryRepository categoryRepository;
+    private CategoryService categoryService; // Cached reference lookups (see CacheConfig)
     @Autowired
-    private SupplierRepository supplierRepository;
+    private SupplierService supplierService;
     @Autowired
     private InventoryRepository inventoryRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private UniqueKeyFilters uniqueKeys;
+    @Autowired
+    private DependencyCheckService dependencyCheckService;
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
 
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    // Read endpoints use DTO projections: one SQL join per call regardless of result size
+    public Slice<ProductDTO> getProductsPage(Long after, int limit, Long categoryId, Long supplierId, String skuPrefix) {
+        return productRepository.findDtoPageAfter(Paging.startAfter(after), categoryId, supplierId,
+                Paging.likePrefix(skuPrefix), Paging.keysetPage(limit));
     }
 
     public Product getProductById(Long id) { // Changed return type to Product and removed Optional
@@ -39,41 +60,63 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
     }
 
+    public ProductDTO getProductDtoById(Long id) {
+        return productRepository.findDtoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
+    }
+
+    public List<BatchGetItemDTO<ProductDTO>> batchGetProducts(BatchGetRequest request) {
+        return BatchLookup.resolve(request, productRepository::findDtosByIds, ProductDTO::getProductId,
+                productRepository::findDtosBySkus, ProductDTO::getSku);
+    }
+
     @Transactional
     public Product createProduct(Product product) {
-        if (productRepository.existsBySku(product.getSku())) {
-            throw new DuplicateResourceException("Product with SKU '" + product.getSku() + "' already exists.");
+        String duplicateSku = "Product with SKU '" + product.getSku() + "' already exists.";
+        if (uniqueKeys.exists(KeySpace.PRODUCT_SKU, product.getSku(), productRepository::existsBySku)) {
+            throw new DuplicateResourceException(duplicateSku);
         }
 
         // Validate Category and Supplier IDs
         if (product.getCategory() == null || product.getCategory().getCategoryId() == null) {
             throw new InvalidOperationException("Category ID is required for product creation.");
         }
-        Category category = categoryRepository.findById(product.getCategory().getCategoryId())
-                .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID: " + product.getCategory().getCategoryId()));
-        product.setCategory(category); // Set the managed entity
+        // Validated against the cache; the product gets its own detached copy, never the shared cached value
+        product.setCategory(toReference(categoryService.getCategoryById(product.getCategory().getCategoryId())));
 
         if (product.getSupplier() == null || product.getSupplier().getSupplierId() == null) {
             throw new InvalidOperationException("Supplier ID is required for product creation.");
         }
-        Supplier supplier = supplierRepository.findById(product.getSupplier().getSupplierId())
-                .orElseThrow(() -> new ResourceNotFoundException("Supplier not found with ID: " + product.getSupplier().getSupplierId()));
-        product.setSupplier(supplier); // Set the managed entity
+        product.setSupplier(toReference(supplierService.getSupplierById(product.getSupplier().getSupplierId())));
 
-        return productRepository.save(product);
+        Product savedProduct = uniqueKeys.write(KeySpace.PRODUCT_SKU, product.getSku(), duplicateSku,
+                () -> productRepository.saveAndFlush(product));
+        eventPublisher.publishEvent(searchEvent(ProductChangeEvent.ChangeType.CREATED, savedProduct));
+        return savedProduct;
     }
 
     @Transactional
-    public Product updateProduct(Long id, Product updatedProduct) {
+    public Product updateProduct(Long id, Product updatedProduct, Long expectedVersion) {
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
+        // If-Match: refuse to apply changes made against an older version. @Version covers the rest of the race.
+        if (expectedVersion != null && !expectedVersion.equals(existingProduct.getVersion())) {
+            throw new PreconditionFailedException("Product ID " + id + " has been modified since version " + expectedVersion + ".");
+        }
 
         // Check for duplicate SKU during update, but allow if it's the existing product's SKU
-        if (updatedProduct.getSku() != null && !updatedProduct.getSku().equals(existingProduct.getSku()) &&
-                productRepository.existsBySku(updatedProduct.getSku())) {
-            throw new DuplicateResourceException("Product with SKU '" + updatedProduct.getSku() + "' already exists.");
+        boolean skuChanged = updatedProduct.getSku() != null && !updatedProduct.getSku().equals(existingProduct.getSku());
+        String duplicateSku = "Product with SKU '" + updatedProduct.getSku() + "' already exists.";
+        if (skuChanged && uniqueKeys.exists(KeySpace.PRODUCT_SKU, updatedProduct.getSku(), productRepository::existsBySku)) {
+            throw new DuplicateResourceException(duplicateSku);
         }
 
+        // What the valuation aggregates currently count this product's stock under
+        Long previousCategoryId = existingProduct.getCategory() != null ? existingProduct.getCategory().getCategoryId() : null;
+        Long previousSupplierId = existingProduct.getSupplier() != null ? existingProduct.getSupplier().getSupplierId() : null;
+        Double previousPurchasePrice = existingProduct.getPurchasePrice();
+        Double previousSellingPrice = existingProduct.getSellingPrice();
+
         // Update fields if provided in updatedProduct
         Optional.ofNullable(updatedProduct.getName()).ifPresent(existingProduct::setName);
         Optional.ofNullable(updatedProduct.getSku()).ifPresent(existingProduct::setSku);
@@ -84,19 +127,34 @@ public class ProductService {
 
         // Handle Category update
         if (updatedProduct.getCategory() != null && updatedProduct.getCategory().getCategoryId() != null) {
-            Category category = categoryRepository.findById(updatedProduct.getCategory().getCategoryId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID: " + updatedProduct.getCategory().getCategoryId()));
-            existingProduct.setCategory(category);
+            existingProduct.setCategory(toReference(categoryService.getCategoryById(updatedProduct.getCategory().getCategoryId())));
         }
 
         // Handle Supplier update
         if (updatedProduct.getSupplier() != null && updatedProduct.getSupplier().getSupplierId() != null) {
-            Supplier supplier = supplierRepository.findById(updatedProduct.getSupplier().getSupplierId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Supplier not found with ID: " + updatedProduct.getSupplier().getSupplierId()));
-            existingProduct.setSupplier(supplier);
+            existingProduct.setSupplier(toReference(supplierService.getSupplierById(updatedProduct.getSupplier().getSupplierId())));
         }
 
-        return productRepository.save(existingProduct);
+        Product savedProduct = skuChanged
+                ? uniqueKeys.write(KeySpace.PRODUCT_SKU, existingProduct.getSku(), duplicateSku,
+                        () -> productRepository.saveAndFlush(existingProduct))
+                : productRepository.save(existingProduct);
+        eventPublisher.publishEvent(searchEvent(ProductChangeEvent.ChangeType.UPDATED, savedProduct));
+        Long categoryId = savedProduct.getCategory() != null ? savedProduct.getCategory().getCategoryId() : null;
+        Long supplierId = savedProduct.getSupplier() != null ? savedProduct.getSupplier().getSupplierId() : null;
+        boolean valuationChanged = !Objects.equals(previousCategoryId, categoryId)
+                || !Objects.equals(previousSupplierId, supplierId)
+                || !Objects.equals(previousPurchasePrice, savedProduct.getPurchasePrice())
+                || !Objects.equals(previousSellingPrice, savedProduct.getSellingPrice());
+        if (valuationChanged) {
+            // Locked until commit, so the quantity moved between the totals is exactly what is committed: a concurrent
+            // stock change either committed before this read or waits for this transaction to finish
+            inventoryRepository.findForUpdateByProduct_ProductId(id).ifPresent(stock -> eventPublisher.publishEvent(
+                    new ProductValuationChangeEvent(id, stock.getQuantityInStock(), previousCategoryId, previousSupplierId,
+                            previousPurchasePrice, previousSellingPrice, categoryId, supplierId,
+                            savedProduct.getPurchasePrice(), savedProduct.getSellingPrice())));
+        }
+        return savedProduct;
     }
 
     @Transactional
@@ -106,11 +164,32 @@ public class ProductService {
             throw new ResourceNotFoundException("Product not found with ID: " + id);
         }
 
-        // Check for associated Inventory before deleting
-        if (inventoryRepository.findByProduct_ProductId(id).isPresent()) {
-            throw new InvalidOperationException("Cannot delete product with existing inventory record. Delete inventory first.");
-        }
+        // Check for associated Inventory and reservations before deleting
+        dependencyCheckService.requireNoDependents(DependencyCheckService.Resource.PRODUCT, id);
 
+        stockReservationRepository.deleteClosedByProductId(id); // Their foreign key would block the delete
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(ProductChangeEvent.deleted(id));
+    }
+
+    // Detached, per-request entities carrying the cached values: only the ID is written, and the name is there for the
+    // response. Hibernate never sees the cached instance.
+    private static Category toReference(CategoryView view) {
+        Category category = new Category();
+        category.setCategoryId(view.categoryId());
+        category.setName(view.name());
+        return category;
+    }
+
+    private static Supplier toReference(SupplierView view) {
+        Supplier supplier = new Supplier();
+        supplier.setSupplierId(view.supplierId());
+        supplier.setName(view.name());
+        supplier.setContactInfo(view.contactInfo());
+        return supplier;
+    }
+
+    private static ProductChangeEvent searchEvent(ProductChangeEvent.ChangeType type, Product product) {
+        return new ProductChangeEvent(type, product.getProductId(), product.getName(), product.getSku(), product.getDescription());
     }
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.example.inventory.service;
+
+import com.example.inventory.entity.ReservationStatus;
+import com.example.inventory.repository.StockReservationRepository;
+import com.example.inventory.repository.projection.ReservationExpiry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Expires reservations from an in-memory set ordered by expiry time, so each tick only touches reservations that are
+// actually due instead of scanning the table. Due reservations are expired in batches of one statement each.
+// The set is rebuilt from the partial index on active reservations at startup, and a slow sweep of that index picks
+// up anything this instance never saw (rolled-back cancels, reservations made by an instance that went down).
+// Expiring a reservation that was committed or released in the meantime is a no-op.
+@Component
+public class ReservationExpiryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationExpiryScheduler.class);
+
+    private static final LocalDateTime LOAD_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final NavigableSet<Expiry> pending = new ConcurrentSkipListSet<>();
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${inventory.reservations.expiry-batch-size:500}")
+    private int batchSize;
+
+    public void schedule(long reservationId, LocalDateTime expiresAt) {
+        pending.add(new Expiry(expiresAt, reservationId));
+    }
+
+    public void cancel(long reservationId, LocalDateTime expiresAt) {
+        pending.remove(new Expiry(expiresAt, reservationId));
+    }
+
+    // Read in keyset pages, so no single query or result set grows with the number of active reservations
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveReservations() {
+        LocalDateTime afterTime = LOAD_START;
+        long afterId = 0;
+        List<ReservationExpiry> page;
+        do {
+            page = stockReservationRepository.findExpiriesAfter(ReservationStatus.ACTIVE, afterTime, afterId,
+                    PageRequest.ofSize(batchSize));
+            for (ReservationExpiry expiry : page) {
+                schedule(expiry.getReservationId(), expiry.getExpiresAt());
+                afterTime = expiry.getExpiresAt();
+                afterId = expiry.getReservationId();
+            }
+        } while (page.size() == batchSize);
+        log.info("Scheduled expiry for {} active stock reservations", pending.size());
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reservations.expiry-interval:1s}")
+    public void expireDue() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Expiry> batch;
+        while (!(batch = pollDue(now)).isEmpty()) {
+            List<Long> ids = batch.stream().map(Expiry::reservationId).toList();
+            try {
+                transactionTemplate.executeWithoutResult(status -> stockReservationRepository.expireActive(ids));
+            } catch (DataAccessException e) {
+                // Most likely a deadlock with another instance's batch; put them back for the next tick
+                pending.addAll(batch);
+                log.warn("Failed to expire {} stock reservations, will retry: {}", ids.size(), e.getMostSpecificCause().getMessage());
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reservations.sweep-interval:5m}",
+            initialDelayString = "${inventory.reservations.sweep-interval:5m}")
+    public void sweepOverdue() {
+        for (ReservationExpiry expiry : stockReservationRepository.findExpiries(ReservationStatus.ACTIVE,
+                LocalDateTime.now(), PageRequest.ofSize(batchSize))) {
+            schedule(expiry.getReservationId(), expiry.getExpiresAt());
+        }
+    }
+
+    private List<Expiry> pollDue(LocalDateTime now) {
+        List<Expiry> due = new ArrayList<>();
+        while (due.size() < batchSize) {
+            Expiry first = pending.pollFirst();
+            if (first == null) {
+                break;
+            }
+            if (first.expiresAt().isAfter(now)) {
+                pending.add(first); // Not due yet; everything after it is later still
+                break;
+            }
+            due.add(first);
+        }
+        return due;
+    }
+
+    private record Expiry(LocalDateTime expiresAt, long reservationId) implements Comparable<Expiry> {
+        @Override
+        public int compareTo(Expiry other) {
+            int byTime = expiresAt.compareTo(other.expiresAt);
+            return byTime != 0 ? byTime : Long.compare(reservationId, other.reservationId);
+        }
+    }
+}
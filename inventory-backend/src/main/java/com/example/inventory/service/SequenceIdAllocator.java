@@ -0,0 +1,33 @@
+package com.example.inventory.service;
+
+import com.example.inventory.entity.IdGeneration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Reserves IDs for rows written with plain JDBC. Blocks are carved out of the entity sequences exactly like
+// Hibernate's pooled optimizer does (nextval() is the top of a block), so JDBC and JPA writers never collide.
+@Component
+public class SequenceIdAllocator {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public long[] allocate(String sequenceName, int count) {
+        int blockSize = IdGeneration.ALLOCATION_SIZE;
+        int blocks = (count + blockSize - 1) / blockSize;
+        List<Long> blockTops = jdbcTemplate.queryForList(
+                "SELECT nextval(CAST(? AS regclass)) FROM generate_series(1, ?)", Long.class, sequenceName, blocks);
+
+        long[] ids = new long[count];
+        int index = 0;
+        for (long top : blockTops) {
+            for (long id = top - blockSize + 1; id <= top && index < count; id++) {
+                ids[index++] = id;
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.inventory.service;
+
+import com.example.inventory.dto.ledger.StockLevelAsOfDTO;
+import com.example.inventory.dto.ledger.StockMovementDTO;
+import com.example.inventory.entity.MovementType;
+import com.example.inventory.entity.StockMovement;
+import com.example.inventory.exception.InvalidOperationException;
+import com.example.inventory.repository.StockMovementRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+// Append-only stock history. Movements are written by InventoryService inside its own transactions; this service
+// also rolls them up into periodic per-product snapshots and answers point-in-time stock queries.
+@Service
+public class StockLedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLedgerService.class);
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    // Movements are stamped before commit; snapshots stay this far behind the clock so none is missed
+    @Value("${inventory.sync.commit-grace:5s}")
+    private Duration commitGrace;
+
+    // Joins the caller's transaction; the insert is flushed in a JDBC batch with the rest of the unit of work
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long productId, MovementType type, int delta, int quantityAfter, String reference) {
+        if (delta == 0) {
+            return; // Nothing moved, e.g. an update that only changed the threshold
+        }
+        StockMovement movement = new StockMovement();
+        movement.setProductId(productId);
+        movement.setMovementType(type);
+        movement.setQuantityDelta(delta);
+        movement.setQuantityAfter(quantityAfter);
+        movement.setReference(reference);
+        movement.setOccurredAt(LocalDateTime.now());
+        stockMovementRepository.save(movement);
+    }
+
+    // 'after' stays a plain movement ID for clients; its timestamp is looked up by primary key to seek the index
+    @Transactional(readOnly = true)
+    public Slice<StockMovementDTO> getMovements(Long productId, Long after, int limit) {
+        Pageable page = Paging.keysetPage(limit);
+        if (after == null) {
+            return stockMovementRepository.findDtoFirstPageByProductId(productId, page);
+        }
+        LocalDateTime since = stockMovementRepository.findOccurredAt(productId, after)
+                .orElseThrow(() -> new InvalidOperationException("Unknown cursor " + after + " for product ID: " + productId));
+        return stockMovementRepository.findDtoPageByProductIdAfter(productId, since, after, page);
+    }
+
+    @Transactional(readOnly = true)
+    public StockLevelAsOfDTO getStockAsOf(Long productId, LocalDateTime asOf) {
+        return new StockLevelAsOfDTO(productId, asOf, stockMovementRepository.quantityAsOf(productId, asOf));
+    }
+
+    // Keeps the tail of movements read by getStockAsOf bounded by the snapshot interval
+    @Scheduled(fixedDelayString = "${inventory.ledger.snapshot-interval:1h}",
+            initialDelayString = "${inventory.ledger.snapshot-interval:1h}")
+    @Transactional
+    public void takeSnapshots() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(commitGrace).truncatedTo(ChronoUnit.MICROS);
+        int products = stockMovementRepository.snapshotMovementsUpTo(cutoff);
+        log.debug("Stock snapshot as of {} written for {} products", cutoff, products);
+    }
+}
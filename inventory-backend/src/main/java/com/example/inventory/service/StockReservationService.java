@@ -0,0 +1,153 @@
+package com.example.inventory.service;
+
+import com.example.inventory.dto.reservation.ReservationDTO;
+import com.example.inventory.dto.reservation.ReserveStockRequest;
+import com.example.inventory.entity.MovementType;
+import com.example.inventory.entity.ReservationStatus;
+import com.example.inventory.entity.StockReservation;
+import com.example.inventory.event.InventoryChangeEvent;
+import com.example.inventory.event.InventoryChangeEvent.ChangeType;
+import com.example.inventory.exception.InvalidOperationException;
+import com.example.inventory.exception.ResourceNotFoundException;
+import com.example.inventory.repository.InventoryRepository;
+import com.example.inventory.repository.StockReservationRepository;
+import com.example.inventory.repository.projection.StockLevel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+// Holds stock for checkouts. Reserving raises inventory.reserved_quantity, committing takes the units out of stock,
+// releasing or expiring hands them back. Each step is one conditional UPDATE, so concurrent checkouts on the same
+// product never read-modify-write the row and can never oversell.
+@Service
+public class StockReservationService {
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private StockLedgerService stockLedgerService;
+    @Autowired
+    private ReservationExpiryScheduler expiryScheduler;
+    @Autowired
+    private HotSkuService hotSkuService;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${inventory.reservations.default-ttl:15m}")
+    private Duration defaultTtl;
+    @Value("${inventory.reservations.max-ttl:24h}")
+    private Duration maxTtl;
+
+    public ReservationDTO getReservation(Long id) {
+        return convertToDto(findReservation(id));
+    }
+
+    @Transactional
+    public ReservationDTO reserve(ReserveStockRequest request) {
+        Duration ttl = request.getTtlSeconds() != null ? Duration.ofSeconds(request.getTtlSeconds()) : defaultTtl;
+        if (ttl.compareTo(maxTtl) > 0) {
+            throw new InvalidOperationException("Reservation TTL cannot exceed " + maxTtl.toSeconds() + " seconds.");
+        }
+
+        Long productId = request.getProductId();
+        if (hotSkuService.isHot(productId)) {
+            throw hotSkuRejection(productId);
+        }
+
+        // Everything that does not need the inventory row happens first: the conditional UPDATE below locks the row
+        // until commit, so it is the last statement and a popular product's lock is held for no more than the commit.
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        StockReservation reservation = new StockReservation();
+        reservation.setProductId(productId);
+        reservation.setQuantity(request.getQuantity());
+        reservation.setStatus(ReservationStatus.ACTIVE);
+        reservation.setReference(request.getReference());
+        reservation.setCreatedAt(now);
+        reservation.setExpiresAt(now.plus(ttl));
+        StockReservation saved;
+        try {
+            saved = stockReservationRepository.saveAndFlush(reservation);
+        } catch (DataIntegrityViolationException e) { // The product_id foreign key: no such product
+            throw new ResourceNotFoundException("Inventory not found for product ID: " + productId);
+        }
+        // If this transaction rolls back, the expiry finds no active row and does nothing
+        expiryScheduler.schedule(saved.getReservationId(), saved.getExpiresAt());
+
+        if (inventoryRepository.reserve(productId, request.getQuantity()) == 0) {
+            // Only explain the failure on the slow path; throwing rolls the reservation row back
+            throw inventoryRepository.existsByProduct_ProductId(productId)
+                    ? new InvalidOperationException("Insufficient available stock for product ID: " + productId + ". Cannot reserve " + request.getQuantity() + " units.")
+                    : new ResourceNotFoundException("Inventory not found for product ID: " + productId);
+        }
+        if (hotSkuService.isHot(productId)) {
+            // In-memory check, repeated under the row lock so it cannot race HotSkuService.enable
+            throw hotSkuRejection(productId);
+        }
+        return convertToDto(saved);
+    }
+
+    @Transactional
+    public ReservationDTO commit(Long id) {
+        StockReservation reservation = close(id, ReservationStatus.COMMITTED);
+        StockLevel level = inventoryRepository.consumeReserved(reservation.getProductId(), reservation.getQuantity())
+                .orElseThrow(() -> new ResourceNotFoundException("Inventory not found for product ID: " + reservation.getProductId()));
+        String reference = reservation.getReference() != null ? reservation.getReference() : "reservation:" + id;
+        stockLedgerService.record(reservation.getProductId(), MovementType.SALE, -reservation.getQuantity(),
+                level.getQuantityInStock(), reference);
+        eventPublisher.publishEvent(InventoryChangeEvent.of(ChangeType.UPDATED, level, -reservation.getQuantity()));
+        return closedDto(reservation, ReservationStatus.COMMITTED);
+    }
+
+    @Transactional
+    public ReservationDTO release(Long id) {
+        StockReservation reservation = close(id, ReservationStatus.RELEASED);
+        if (inventoryRepository.releaseReserved(reservation.getProductId(), reservation.getQuantity()) == 0) {
+            // Rolls the close back; the sweep puts the reservation on the expiry schedule again
+            throw new ResourceNotFoundException("Inventory not found for product ID: " + reservation.getProductId());
+        }
+        return closedDto(reservation, ReservationStatus.RELEASED);
+    }
+
+    private static InvalidOperationException hotSkuRejection(Long productId) {
+        return new InvalidOperationException("Product ID " + productId + " is in hot-SKU mode and cannot be reserved.");
+    }
+
+    // Wins the race against the other transitions or fails. The managed entity is left as loaded; the new state
+    // lives only in the row, so the flush does not write the reservation a second time.
+    private StockReservation close(Long id, ReservationStatus status) {
+        StockReservation reservation = findReservation(id);
+        if (stockReservationRepository.closeIfActive(id, status.name()) == 0) {
+            throw new InvalidOperationException("Reservation " + id + " is no longer active"
+                    + (reservation.getStatus() != ReservationStatus.ACTIVE ? " (status: " + reservation.getStatus() + ")." : "."));
+        }
+        expiryScheduler.cancel(id, reservation.getExpiresAt());
+        return reservation;
+    }
+
+    private ReservationDTO closedDto(StockReservation reservation, ReservationStatus status) {
+        ReservationDTO dto = convertToDto(reservation);
+        dto.setStatus(status);
+        dto.setClosedAt(LocalDateTime.now());
+        return dto;
+    }
+
+    private StockReservation findReservation(Long id) {
+        return stockReservationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with ID: " + id));
+    }
+
+    private ReservationDTO convertToDto(StockReservation reservation) {
+        return new ReservationDTO(reservation.getReservationId(), reservation.getProductId(), reservation.getQuantity(),
+                reservation.getStatus(), reservation.getReference(), reservation.getCreatedAt(),
+                reservation.getExpiresAt(), reservation.getClosedAt());
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.inventory.service;
+
+import com.example.inventory.dto.category.CategoryView;
+import com.example.inventory.dto.supplier.SupplierView;
+import com.example.inventory.dto.valuation.StockValuationDTO;
+import com.example.inventory.event.InventoryChangeEvent;
+import com.example.inventory.event.ProductValuationChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Running stock value and margin totals per category and per supplier, kept in memory and moved by committed
+// inventory and product changes, so the valuation endpoints never aggregate the inventory table.
+// A periodic full recompute from the database replaces the totals and logs any drift it had to correct
+// (changes made by other instances, or by anything that bypasses the services).
+@Service
+public class StockValuationService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockValuationService.class);
+
+    private static final long UNASSIGNED = 0L; // Map key for products without a category or supplier
+    private static final BigDecimal DRIFT_TOLERANCE = new BigDecimal("0.01");
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    // Summed as numeric so the database totals are exact and comparable with the BigDecimal running sums
+    private static final String TOTALS_SQL =
+            "SELECT p.category_id, p.supplier_id, SUM(i.quantity_in_stock) AS units, " +
+            "SUM(i.quantity_in_stock * CAST(p.purchase_price AS NUMERIC)) AS stock_value, " +
+            "SUM(i.quantity_in_stock * CAST(p.selling_price AS NUMERIC)) AS retail_value " +
+            "FROM inventory i JOIN products p ON p.product_id = i.product_id " +
+            "GROUP BY p.category_id, p.supplier_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private SupplierService supplierService;
+
+    // Appliers hold the read lock; a recompute takes the write lock to start capturing and to swap in its result
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Aggregates aggregates = new Aggregates();
+    private List<Delta> captured; // Non-null while a recompute is running; guarded by lock
+    private final Counter driftCorrections;
+
+    public StockValuationService(MeterRegistry meterRegistry) {
+        this.driftCorrections = Counter.builder("inventory.valuation.drift.corrections")
+                .description("Category and supplier totals the periodic recompute found out of line with the database")
+                .register(meterRegistry);
+    }
+
+    public List<StockValuationDTO> getCategoryValuations() {
+        Map<Long, String> names = new HashMap<>();
+        for (CategoryView category : categoryService.getAllCategories()) {
+            names.put(category.categoryId(), category.name());
+        }
+        return toDtos(aggregates.byCategory, names);
+    }
+
+    public List<StockValuationDTO> getSupplierValuations() {
+        Map<Long, String> names = new HashMap<>();
+        for (SupplierView supplier : supplierService.getAllSuppliers()) {
+            names.put(supplier.supplierId(), supplier.name());
+        }
+        return toDtos(aggregates.bySupplier, names);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInventoryChange(InventoryChangeEvent event) {
+        if (event.quantityDelta() != 0) {
+            apply(new Delta(event.categoryId(), event.supplierId(), event.quantityDelta(),
+                    value(event.quantityDelta(), event.purchasePrice()), value(event.quantityDelta(), event.sellingPrice())));
+        }
+    }
+
+    // Takes the product's stock out of its old groups at the old prices and adds it to the new ones at the new prices
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductValuationChange(ProductValuationChangeEvent event) {
+        int quantity = event.quantityInStock();
+        if (quantity == 0) {
+            return;
+        }
+        apply(new Delta(event.previousCategoryId(), event.previousSupplierId(), -quantity,
+                value(-quantity, event.previousPurchasePrice()), value(-quantity, event.previousSellingPrice())));
+        apply(new Delta(event.categoryId(), event.supplierId(), quantity,
+                value(quantity, event.purchasePrice()), value(quantity, event.sellingPrice())));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadTotals() {
+        recompute();
+        log.info("Loaded stock valuation totals for {} categories and {} suppliers",
+                aggregates.byCategory.size(), aggregates.bySupplier.size());
+    }
+
+    // Deltas committed while the query runs are captured and replayed onto its result, so the swap loses nothing.
+    // A change committed just before the query but delivered just after capturing started is counted twice;
+    // the next recompute corrects it.
+    @Scheduled(fixedDelayString = "${inventory.valuation.recompute-interval:15m}",
+            initialDelayString = "${inventory.valuation.recompute-interval:15m}")
+    public synchronized void recompute() {
+        lock.writeLock().lock();
+        try {
+            captured = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Aggregates fresh = new Aggregates();
+        try {
+            jdbcTemplate.query(TOTALS_SQL, rs -> {
+                Long categoryId = rs.getObject("category_id", Long.class);
+                Long supplierId = rs.getObject("supplier_id", Long.class);
+                BigDecimal stockValue = rs.getBigDecimal("stock_value");
+                BigDecimal retailValue = rs.getBigDecimal("retail_value");
+                fresh.add(new Delta(categoryId, supplierId, rs.getLong("units"),
+                        stockValue != null ? stockValue : BigDecimal.ZERO,
+                        retailValue != null ? retailValue : BigDecimal.ZERO));
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                captured = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            captured.forEach(fresh::add);
+            captured = null;
+            int drifted = countDrift("category", aggregates.byCategory, fresh.byCategory)
+                    + countDrift("supplier", aggregates.bySupplier, fresh.bySupplier);
+            if (drifted > 0) {
+                driftCorrections.increment(drifted);
+            }
+            aggregates = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Delta delta) {
+        lock.readLock().lock();
+        try {
+            aggregates.add(delta);
+            if (captured != null) {
+                synchronized (captured) {
+                    captured.add(delta);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int countDrift(String group, Map<Long, Totals> live, Map<Long, Totals> fresh) {
+        int drifted = 0;
+        List<Long> keys = new ArrayList<>(live.keySet());
+        fresh.keySet().stream().filter(key -> !live.containsKey(key)).forEach(keys::add);
+        for (Long key : keys) {
+            Totals expected = fresh.getOrDefault(key, new Totals());
+            Totals actual = live.getOrDefault(key, new Totals());
+            if (expected.units != actual.units
+                    || expected.stockValue.subtract(actual.stockValue).abs().compareTo(DRIFT_TOLERANCE) > 0
+                    || expected.retailValue.subtract(actual.retailValue).abs().compareTo(DRIFT_TOLERANCE) > 0) {
+                drifted++;
+                log.warn("Stock valuation drift for {} {}: running totals {} units / {} / {}, database {} units / {} / {}",
+                        group, key == UNASSIGNED ? "(none)" : key, actual.units, actual.stockValue, actual.retailValue,
+                        expected.units, expected.stockValue, expected.retailValue);
+            }
+        }
+        return drifted;
+    }
+
+    private List<StockValuationDTO> toDtos(Map<Long, Totals> totals, Map<Long, String> names) {
+        List<StockValuationDTO> dtos = new ArrayList<>(totals.size());
+        totals.forEach((key, group) -> {
+            Totals snapshot = group.snapshot();
+            if (snapshot.units == 0 && snapshot.stockValue.signum() == 0 && snapshot.retailValue.signum() == 0) {
+                return; // Everything sold or moved out
+            }
+            Long id = key == UNASSIGNED ? null : key;
+            BigDecimal margin = snapshot.retailValue.subtract(snapshot.stockValue);
+            BigDecimal marginPercent = snapshot.retailValue.signum() == 0 ? null
+                    : margin.multiply(HUNDRED).divide(snapshot.retailValue, 2, RoundingMode.HALF_UP);
+            dtos.add(new StockValuationDTO(id, id != null ? names.get(id) : null, snapshot.units,
+                    snapshot.stockValue.setScale(2, RoundingMode.HALF_UP), snapshot.retailValue.setScale(2, RoundingMode.HALF_UP),
+                    margin.setScale(2, RoundingMode.HALF_UP), marginPercent));
+        });
+        dtos.sort(Comparator.comparing(StockValuationDTO::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+        return Collections.unmodifiableList(dtos);
+    }
+
+    private static BigDecimal value(long units, Double price) {
+        return price != null ? BigDecimal.valueOf(price).multiply(BigDecimal.valueOf(units)) : BigDecimal.ZERO;
+    }
+
+    private static long key(Long id) {
+        return id != null ? id : UNASSIGNED;
+    }
+
+    private record Delta(Long categoryId, Long supplierId, long units, BigDecimal stockValue, BigDecimal retailValue) {
+    }
+
+    private static final class Aggregates {
+        final Map<Long, Totals> byCategory = new ConcurrentHashMap<>();
+        final Map<Long, Totals> bySupplier = new ConcurrentHashMap<>();
+
+        void add(Delta delta) {
+            byCategory.computeIfAbsent(key(delta.categoryId()), k -> new Totals()).add(delta);
+            bySupplier.computeIfAbsent(key(delta.supplierId()), k -> new Totals()).add(delta);
+        }
+    }
+
+    private static final class Totals {
+        private long units;
+        private BigDecimal stockValue = BigDecimal.ZERO;
+        private BigDecimal retailValue = BigDecimal.ZERO;
+
+        synchronized void add(Delta delta) {
+            units += delta.units();
+            stockValue = stockValue.add(delta.stockValue());
+            retailValue = retailValue.add(delta.retailValue());
+        }
+
+        synchronized Totals snapshot() {
+            Totals copy = new Totals();
+            copy.units = units;
+            copy.stockValue = stockValue;
+            copy.retailValue = retailValue;
+            return copy;
+        }
+    }
+}
@@ -1,17 +1,22 @@
 package com.example.inventory.service;
 
-import com.example.inventory.entity.Product;
+import com.example.inventory.dto.supplier.SupplierView;
 import com.example.inventory.entity.Supplier;
 import com.example.inventory.repository.SupplierRepository;
 import com.example.inventory.repository.ProductRepository;
 import com.example.inventory.exception.ResourceNotFoundException;
 import com.example.inventory.exception.DuplicateResourceException;
-import com.example.inventory.exception.InvalidOperationException; // For deletion check
+import com.example.inventory.config.CacheConfig;
+import com.example.inventory.service.UniqueKeyFilters.KeySpace;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -20,55 +25,84 @@ public class SupplierService {
     @Autowired
     private SupplierRepository supplierRepository;
     @Autowired
+    private UniqueKeyFilters uniqueKeys;
+    @Autowired
+    private DependencyCheckService dependencyCheckService;
+    @Autowired
     private ProductRepository productRepository; // To check for existing products on supplier deletion
 
-    public List<Supplier> getAllSuppliers() {
-        return supplierRepository.findAll();
+    // Cached values are shared across threads, so they are immutable views rather than entities
+    @Cacheable(value = CacheConfig.SUPPLIER_LIST, key = "'all'")
+    public List<SupplierView> getAllSuppliers() {
+        return supplierRepository.findAll().stream().map(SupplierService::toView).toList();
     }
 
-    public Supplier getSupplierById(Long id) { // Changed return type to Supplier and removed Optional
+    @Cacheable(CacheConfig.SUPPLIERS)
+    public SupplierView getSupplierById(Long id) {
         return supplierRepository.findById(id)
+                .map(SupplierService::toView)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier not found with ID: " + id));
     }
 
     @Transactional
+    @CacheEvict(value = CacheConfig.SUPPLIER_LIST, allEntries = true)
     public Supplier createSupplier(Supplier supplier) {
-        if (supplierRepository.existsByName(supplier.getName())) {
-            throw new DuplicateResourceException("Supplier with name '" + supplier.getName() + "' already exists.");
+        String duplicateName = "Supplier with name '" + supplier.getName() + "' already exists.";
+        if (uniqueKeys.exists(KeySpace.SUPPLIER_NAME, supplier.getName(), supplierRepository::existsByName)) {
+            throw new DuplicateResourceException(duplicateName);
         }
-        return supplierRepository.save(supplier);
+        return uniqueKeys.write(KeySpace.SUPPLIER_NAME, supplier.getName(), duplicateName, () -> supplierRepository.saveAndFlush(supplier));
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.SUPPLIERS, key = "#id"),
+            @CacheEvict(value = CacheConfig.SUPPLIER_LIST, allEntries = true)
+    })
     public Supplier updateSupplier(Long id, Supplier updatedSupplier) {
         Supplier existingSupplier = supplierRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier not found with ID: " + id));
 
         // Check for duplicate name during update, but allow if it's the existing supplier's name
-        if (supplierRepository.existsByName(updatedSupplier.getName()) &&
-                !existingSupplier.getName().equals(updatedSupplier.getName())) {
-            throw new DuplicateResourceException("Supplier with name '" + updatedSupplier.getName() + "' already exists.");
+        boolean renamed = !existingSupplier.getName().equals(updatedSupplier.getName());
+        String duplicateName = "Supplier with name '" + updatedSupplier.getName() + "' already exists.";
+        if (renamed && uniqueKeys.exists(KeySpace.SUPPLIER_NAME, updatedSupplier.getName(), supplierRepository::existsByName)) {
+            throw new DuplicateResourceException(duplicateName);
         }
 
+        boolean changed = renamed
+                || !Objects.equals(existingSupplier.getContactInfo(), updatedSupplier.getContactInfo());
         existingSupplier.setName(updatedSupplier.getName());
         existingSupplier.setContactInfo(updatedSupplier.getContactInfo());
 
-        return supplierRepository.save(existingSupplier);
+        Supplier savedSupplier = renamed
+                ? uniqueKeys.write(KeySpace.SUPPLIER_NAME, existingSupplier.getName(), duplicateName,
+                        () -> supplierRepository.saveAndFlush(existingSupplier))
+                : supplierRepository.save(existingSupplier);
+        if (changed) {
+            productRepository.bumpVersionsBySupplierId(id); // Product ETags embed the supplier's name and contact info
+        }
+        return savedSupplier;
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.SUPPLIERS, key = "#id"),
+            @CacheEvict(value = CacheConfig.SUPPLIER_LIST, allEntries = true)
+    })
     public void deleteSupplier(Long id) {
         // First, check if the supplier exists
         if (!supplierRepository.existsById(id)) {
             throw new ResourceNotFoundException("Supplier not found with ID: " + id);
         }
 
-        // Check for associated Products before deleting
-        List<Product> associatedProducts = productRepository.findBySupplier_SupplierId(id);
-        if (!associatedProducts.isEmpty()) {
-            throw new InvalidOperationException("Cannot delete supplier with existing products. Delete associated products first.");
-        }
+        // Check for associated Products before deleting (an EXISTS probe; no products are loaded)
+        dependencyCheckService.requireNoDependents(DependencyCheckService.Resource.SUPPLIER, id);
 
         supplierRepository.deleteById(id);
     }
-}
\ No newline at end of file
+
+    private static SupplierView toView(Supplier supplier) {
+        return new SupplierView(supplier.getSupplierId(), supplier.getName(), supplier.getContactInfo());
+    }
+}
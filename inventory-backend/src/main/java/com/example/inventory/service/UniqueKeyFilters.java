@@ -0,0 +1,225 @@
+package com.example.inventory.service;
+
+import com.example.inventory.exception.DuplicateResourceException;
+import com.example.inventory.service.uniqueness.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Bloom filters over the unique keys (product SKUs, category and supplier names, usernames) that let create and
+// rename skip the existsBy... query when a key has definitely never been seen. A "maybe" still goes to the database,
+// and the unique constraints stay the final guard: writes through write() turn a violation into a 409.
+// Keys are added as they are written and never removed, so deletes and renames leave false positives behind until
+// the periodic rebuild; until the first build completes every key is treated as "maybe".
+@Service
+public class UniqueKeyFilters {
+
+    private static final Logger log = LoggerFactory.getLogger(UniqueKeyFilters.class);
+
+    private static final int FETCH_SIZE = 5000;
+    private static final String UNIQUE_VIOLATION = "23505"; // SQLSTATE unique_violation
+
+    public enum KeySpace {
+        PRODUCT_SKU("SELECT sku FROM products", "SELECT COUNT(*) FROM products"),
+        CATEGORY_NAME("SELECT name FROM categories", "SELECT COUNT(*) FROM categories"),
+        SUPPLIER_NAME("SELECT name FROM suppliers", "SELECT COUNT(*) FROM suppliers"),
+        USERNAME("SELECT username FROM users", "SELECT COUNT(*) FROM users");
+
+        private final String keysSql;
+        private final String countSql;
+
+        KeySpace(String keysSql, String countSql) {
+            this.keysSql = keysSql;
+            this.countSql = countSql;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${inventory.uniqueness.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private final Map<KeySpace, Slot> slots = new EnumMap<>(KeySpace.class);
+    private JdbcTemplate cursorJdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+
+    public UniqueKeyFilters() {
+        for (KeySpace space : KeySpace.values()) {
+            slots.put(space, new Slot());
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        cursorJdbcTemplate.setFetchSize(FETCH_SIZE);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true); // PostgreSQL only streams a cursor inside a transaction
+    }
+
+    // True if the key is already taken. The query only runs when the filter cannot rule the key out.
+    public boolean exists(KeySpace space, String key, Predicate<String> query) {
+        if (key == null) {
+            return false;
+        }
+        if (!mightExist(space, key)) {
+            count(space, "skipped");
+            return false;
+        }
+        boolean exists = query.test(key);
+        count(space, exists ? "duplicate" : "false_positive");
+        return exists;
+    }
+
+    public boolean mightExist(KeySpace space, String key) {
+        return key != null && slots.get(space).mightContain(key);
+    }
+
+    // Records a key that is being written. Called before commit: a rollback only leaves a false positive behind.
+    public void record(KeySpace space, String key) {
+        if (key != null) {
+            slots.get(space).put(key);
+        }
+    }
+
+    // Runs a write that inserts or changes a unique key, recording the key and turning a unique-constraint violation
+    // (a concurrent writer, or another instance, took the key after the check) into a DuplicateResourceException.
+    // The write must flush, so the violation surfaces here rather than at commit. Other integrity violations
+    // (NOT NULL, foreign key, check) are not duplicates and propagate unchanged.
+    public <T> T write(KeySpace space, String key, String duplicateMessage, Supplier<T> write) {
+        record(space, key);
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException e) {
+            if (!isUniqueViolation(e)) {
+                throw e;
+            }
+            throw new DuplicateResourceException(duplicateMessage);
+        }
+    }
+
+    // JDBC translation gives DuplicateKeyException; Hibernate wraps the driver's SQLException further down the chain
+    public static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        if (e instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFilters() {
+        rebuild();
+    }
+
+    // Resized from the current row counts, which also drops keys deleted or renamed since the last build.
+    // A key recorded just before the scan starts but committed after its snapshot is missed until the next build;
+    // the unique constraint still rejects a duplicate of it.
+    @Scheduled(fixedDelayString = "${inventory.uniqueness.rebuild-interval:1h}",
+            initialDelayString = "${inventory.uniqueness.rebuild-interval:1h}")
+    public synchronized void rebuild() {
+        for (KeySpace space : KeySpace.values()) {
+            try {
+                rebuild(space);
+            } catch (RuntimeException e) {
+                log.error("Failed to rebuild the {} filter; keeping the previous one", space, e);
+            }
+        }
+    }
+
+    private void rebuild(KeySpace space) {
+        long started = System.nanoTime();
+        Long rows = jdbcTemplate.queryForObject(space.countSql, Long.class);
+        // Headroom for keys added before the next rebuild
+        BloomFilter fresh = BloomFilter.create(Math.max(2 * (rows != null ? rows : 0), 1024), falsePositiveRate);
+
+        Slot slot = slots.get(space);
+        slot.startCapture();
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                    cursorJdbcTemplate.query(space.keysSql, rs -> {
+                        fresh.put(rs.getString(1));
+                    }));
+        } catch (RuntimeException e) {
+            slot.finishCapture(null);
+            throw e;
+        }
+        slot.finishCapture(fresh);
+        log.info("Built {} filter over {} keys ({} KB) in {} ms", space, rows, fresh.sizeInBytes() / 1024,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void count(KeySpace space, String outcome) {
+        Counter.builder("inventory.uniqueness.checks")
+                .description("Uniqueness checks by whether the Bloom filter skipped the database query")
+                .tag("key", space.name().toLowerCase())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // One filter plus the keys written while a rebuild scans the table, replayed into the new filter before the swap
+    private static class Slot {
+        private volatile BloomFilter filter; // Null until the first build
+        private List<String> captured; // Guarded by this
+
+        boolean mightContain(String key) {
+            BloomFilter current = filter;
+            return current == null || current.mightContain(key);
+        }
+
+        synchronized void put(String key) {
+            if (filter != null) {
+                filter.put(key);
+            }
+            if (captured != null) {
+                captured.add(key);
+            }
+        }
+
+        synchronized void startCapture() {
+            captured = new ArrayList<>();
+        }
+
+        synchronized void finishCapture(BloomFilter fresh) {
+            if (fresh != null) {
+                captured.forEach(fresh::put);
+                filter = fresh;
+            }
+            captured = null;
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.example.inventory.service;
 
 import com.example.inventory.entity.User;
+import com.example.inventory.event.UserCredentialsChangedEvent;
 import com.example.inventory.repository.UserRepository;
 import com.example.inventory.exception.ResourceNotFoundException;
 import com.example.inventory.exception.DuplicateResourceException;
 import com.example.inventory.exception.InvalidOperationException; // For login failure or other business rules
+import com.example.inventory.service.UniqueKeyFilters.KeySpace;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +23,10 @@ public class UserService {
     private UserRepository userRepository;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private UniqueKeyFilters uniqueKeys;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // Revokes tokens and cached Basic credentials after commit
 
     public List<User> getAllUsers() {
         return userRepository.findAll();
@@ -32,11 +39,12 @@ public class UserService {
 
     @Transactional
     public User registerUser(User user) {
-        if (userRepository.existsByUsername(user.getUsername())) {
-            throw new DuplicateResourceException("Username '" + user.getUsername() + "' already exists.");
+        String duplicateUsername = "Username '" + user.getUsername() + "' already exists.";
+        if (uniqueKeys.exists(KeySpace.USERNAME, user.getUsername(), userRepository::existsByUsername)) {
+            throw new DuplicateResourceException(duplicateUsername);
         }
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        return uniqueKeys.write(KeySpace.USERNAME, user.getUsername(), duplicateUsername, () -> userRepository.saveAndFlush(user));
     }
 
     public User loginUser(String username, String rawPassword) { // Changed return type from Optional<User> to User
@@ -55,36 +63,53 @@ public class UserService {
     public User updateUser(Long id, User updatedUser) {
         User userToUpdate = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
+        String previousUsername = userToUpdate.getUsername();
+        boolean credentialsChanged = false;
+        boolean renamed = false;
+        String duplicateUsername = "Username '" + updatedUser.getUsername() + "' already exists.";
 
         // Update username if provided and different, check for uniqueness
         if (updatedUser.getUsername() != null && !updatedUser.getUsername().equals(userToUpdate.getUsername())) {
-            if (userRepository.existsByUsername(updatedUser.getUsername())) {
-                throw new DuplicateResourceException("Username '" + updatedUser.getUsername() + "' already exists.");
+            if (uniqueKeys.exists(KeySpace.USERNAME, updatedUser.getUsername(), userRepository::existsByUsername)) {
+                throw new DuplicateResourceException(duplicateUsername);
             }
             userToUpdate.setUsername(updatedUser.getUsername());
+            credentialsChanged = true;
+            renamed = true;
         }
 
         // Only update password if provided and not null/empty, hash it
         if (updatedUser.getPassword() != null && !updatedUser.getPassword().isEmpty()) {
             userToUpdate.setPassword(passwordEncoder.encode(updatedUser.getPassword()));
+            credentialsChanged = true;
         }
 
-        if (updatedUser.getRole() != null) {
+        if (updatedUser.getRole() != null && !updatedUser.getRole().equals(userToUpdate.getRole())) {
             userToUpdate.setRole(updatedUser.getRole());
+            credentialsChanged = true;
         }
 
-        User savedUser = userRepository.save(userToUpdate);
+        if (credentialsChanged) {
+            userToUpdate.setTokenEpoch(userToUpdate.getTokenEpoch() + 1); // Revokes bearer tokens issued before this
+        }
+        User savedUser = renamed
+                ? uniqueKeys.write(KeySpace.USERNAME, userToUpdate.getUsername(), duplicateUsername,
+                        () -> userRepository.saveAndFlush(userToUpdate))
+                : userRepository.save(userToUpdate);
+        if (credentialsChanged) {
+            eventPublisher.publishEvent(new UserCredentialsChangedEvent(id, previousUsername));
+        }
         savedUser.setPassword(null); // Clear password before returning
         return savedUser;
     }
 
     @Transactional
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User not found with ID: " + id);
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
         // No associated entities to check for User in this schema, but if there were,
         // you'd add a check here and throw InvalidOperationException
-        userRepository.deleteById(id);
+        userRepository.delete(user);
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(id, user.getUsername()));
     }
 }
\ No newline at end of file
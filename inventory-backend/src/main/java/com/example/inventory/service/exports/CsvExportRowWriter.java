@@ -0,0 +1,74 @@
+package com.example.inventory.service.exports;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+
+// RFC 4180 CSV with a header row, the same dialect CsvImportRowReader accepts.
+// Fields are quoted only when they contain a comma, quote or line break.
+public class CsvExportRowWriter implements ExportRowWriter {
+
+    private final Writer writer;
+
+    public CsvExportRowWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    @Override
+    public void writeHeader(String[] columns) throws IOException {
+        writeRecord(columns);
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        writeRecord(values);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void writeRecord(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writeField(format(values[i]));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private String format(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString(); // ISO-8601, same as the JSON API
+        }
+        return value.toString();
+    }
+
+    private void writeField(String field) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
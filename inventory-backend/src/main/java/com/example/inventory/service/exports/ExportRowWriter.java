@@ -0,0 +1,18 @@
+package com.example.inventory.service.exports;
+
+import java.io.IOException;
+
+// Writes export rows one at a time to an underlying stream; nothing is retained between rows
+public interface ExportRowWriter extends AutoCloseable {
+
+    void writeHeader(String[] columns) throws IOException;
+
+    // Values are JDBC objects (numbers, strings, timestamps) or null, in header order
+    void writeRow(Object[] values) throws IOException;
+
+    // Pushes buffered output to the client
+    void flush() throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,44 @@
+package com.example.inventory.service.exports;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// One claimed export permit. Released exactly once: by the export when it ends, or, if the async request completes
+// (timeout, client gone, error) before the export ever started, by the request's completion callback. An export
+// that is already running keeps its permit until it ends, since it still holds a pooled connection.
+public final class ExportSlot {
+
+    private static final int RESERVED = 0;
+    private static final int RUNNING = 1;
+    private static final int RELEASED = 2;
+
+    private final Semaphore permits;
+    private final AtomicInteger state = new AtomicInteger(RESERVED);
+
+    ExportSlot(Semaphore permits) {
+        this.permits = permits;
+    }
+
+    // Acquires a permit, or returns null when every permit is taken
+    public static ExportSlot tryAcquire(Semaphore permits) {
+        return permits.tryAcquire() ? new ExportSlot(permits) : null;
+    }
+
+    // False when the request already completed without the export, which must then not run
+    public boolean start() {
+        return state.compareAndSet(RESERVED, RUNNING);
+    }
+
+    public void finish() {
+        if (state.compareAndSet(RUNNING, RELEASED)) {
+            permits.release();
+        }
+    }
+
+    // Called when the async request completes for any reason; a no-op once the export has started
+    public void releaseIfNotStarted() {
+        if (state.compareAndSet(RESERVED, RELEASED)) {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.inventory.service.hotsku;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+
+// Durable write-ahead log for hot-SKU stock changes. Callers enqueue an entry and wait for its future; a single
+// writer thread appends everything queued since its last write and fsyncs once for the whole group, so the cost of
+// a sync is shared by every change that arrived while the previous one was running.
+// Synced entries are handed to the flusher through drainDurable(); segments are deleted once the database has
+// checkpointed past them.
+public class HotSkuJournal implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(HotSkuJournal.class);
+
+    private static final int RECORD_BYTES = 8 + 8 + 8 + 4; // seq, productId, delta, crc
+    private static final int MAX_GROUP = 4096;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    public record Entry(long seq, long productId, long delta) {
+    }
+
+    private record Pending(long productId, long delta, CompletableFuture<Void> synced) {
+    }
+
+    private static final Pending SHUTDOWN = new Pending(0, 0, null);
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Queue<Entry> durable = new ConcurrentLinkedQueue<>();
+    private final ConcurrentSkipListMap<Long, Path> segments = new ConcurrentSkipListMap<>(); // First seq -> file
+    private final Thread writer;
+    private FileChannel channel; // Only touched by the writer thread after start
+    private long nextSeq;
+    private volatile boolean closed;
+    private volatile boolean failed;
+
+    // Starts a fresh segment after 'lastSeq'. Existing segments must have been replayed with readAfter() first.
+    public HotSkuJournal(Path directory, long segmentBytes, long lastSeq) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.nextSeq = lastSeq + 1;
+        try {
+            Files.createDirectories(directory);
+            for (Path segment : listSegments(directory)) {
+                Files.delete(segment);
+            }
+            openSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open hot-SKU journal in " + directory, e);
+        }
+        this.writer = Thread.ofPlatform().name("hot-sku-journal").daemon().start(this::writeLoop);
+    }
+
+    // Completes once the entry is on disk; completes exceptionally if the write or sync failed
+    public CompletableFuture<Void> append(long productId, long delta) {
+        CompletableFuture<Void> synced = new CompletableFuture<>();
+        if (closed || failed) {
+            synced.completeExceptionally(new IllegalStateException("Hot-SKU journal is " + (closed ? "closed" : "unusable")));
+        } else {
+            queue.add(new Pending(productId, delta, synced));
+        }
+        return synced;
+    }
+
+    // Synced entries not yet handed to the flusher, in sequence order
+    public List<Entry> drainDurable() {
+        List<Entry> entries = new ArrayList<>();
+        Entry entry;
+        while ((entry = durable.poll()) != null) {
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    // Deletes closed segments whose every entry is at or below the database checkpoint
+    public void discardUpTo(long checkpointSeq) {
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            Long nextFirstSeq = segments.higherKey(segment.getKey());
+            if (nextFirstSeq == null || nextFirstSeq - 1 > checkpointSeq) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(segment.getValue());
+                segments.remove(segment.getKey());
+            } catch (IOException e) {
+                log.warn("Could not delete hot-SKU journal segment {}: {}", segment.getValue(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    // Reads every intact entry above 'checkpointSeq' from the segments left by a previous run.
+    // A torn record at the end of a segment (crash mid-write) was never acknowledged and is ignored.
+    public static List<Entry> readAfter(Path directory, long checkpointSeq) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return entries;
+        }
+        ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+        for (Path segment : listSegments(directory)) {
+            try (FileChannel in = FileChannel.open(segment, StandardOpenOption.READ)) {
+                while (true) {
+                    record.clear();
+                    while (record.hasRemaining() && in.read(record) > 0) {
+                        // Keep reading until the record is complete or the file ends
+                    }
+                    if (record.hasRemaining()) {
+                        break;
+                    }
+                    record.flip();
+                    long seq = record.getLong();
+                    long productId = record.getLong();
+                    long delta = record.getLong();
+                    if (record.getInt() != checksum(seq, productId, delta)) {
+                        log.warn("Ignoring corrupt hot-SKU journal record after seq {} in {}", seq - 1, segment);
+                        break;
+                    }
+                    if (seq > checkpointSeq) {
+                        entries.add(new Entry(seq, productId, delta));
+                    }
+                }
+            }
+        }
+        return entries;
+    }
+
+    // Writes out everything queued before the call, then stops the writer
+    @Override
+    public void close() {
+        closed = true;
+        queue.add(SHUTDOWN);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close hot-SKU journal: {}", e.getMessage());
+        }
+    }
+
+    // Never interrupted: an interrupt during a FileChannel operation would close the channel
+    private void writeLoop() {
+        List<Pending> group = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_BYTES * MAX_GROUP);
+        boolean running = true;
+        while (running) {
+            try {
+                group.add(queue.take());
+            } catch (InterruptedException e) {
+                continue;
+            }
+            queue.drainTo(group, MAX_GROUP - 1);
+            running = !group.remove(SHUTDOWN);
+            if (!group.isEmpty()) {
+                writeGroup(group, buffer);
+                group.clear();
+            }
+        }
+        // Anything that slipped in after close() was called
+        queue.forEach(pending -> pending.synced().completeExceptionally(new IllegalStateException("Hot-SKU journal is closed")));
+    }
+
+    private void writeGroup(List<Pending> group, ByteBuffer buffer) {
+        if (failed) {
+            group.forEach(pending -> pending.synced().completeExceptionally(new IllegalStateException("Hot-SKU journal has failed")));
+            return;
+        }
+        long firstSeq = nextSeq;
+        buffer.clear();
+        for (Pending pending : group) {
+            long seq = nextSeq++;
+            buffer.putLong(seq).putLong(pending.productId()).putLong(pending.delta())
+                    .putInt(checksum(seq, pending.productId(), pending.delta()));
+        }
+        buffer.flip();
+
+        long sizeBefore = -1;
+        try {
+            if (channel.size() >= segmentBytes) {
+                channel.close();
+                openSegmentAt(firstSeq);
+            }
+            sizeBefore = channel.size();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            log.error("Hot-SKU journal write failed; rejecting {} changes", group.size(), e);
+            group.forEach(pending -> pending.synced().completeExceptionally(e));
+            discardPartialWrite(sizeBefore);
+            return;
+        }
+
+        long seq = firstSeq;
+        for (Pending pending : group) {
+            durable.add(new Entry(seq++, pending.productId(), pending.delta()));
+        }
+        group.forEach(pending -> pending.synced().complete(null));
+    }
+
+    // Rejected changes must not be replayed after a restart, so cut the segment back to before the failed write.
+    // If even that fails the journal can no longer be trusted and rejects everything from now on.
+    private void discardPartialWrite(long sizeBefore) {
+        try {
+            if (sizeBefore < 0 || !channel.isOpen()) {
+                throw new IOException("Journal segment unavailable");
+            }
+            channel.truncate(sizeBefore);
+            channel.force(true);
+        } catch (IOException e) {
+            failed = true;
+            log.error("Hot-SKU journal is unusable; hot-SKU changes will be rejected until restart", e);
+        }
+    }
+
+    private void openSegment() throws IOException {
+        openSegmentAt(nextSeq);
+    }
+
+    private void openSegmentAt(long firstSeq) throws IOException {
+        Path segment = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSeq, SEGMENT_SUFFIX));
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segments.put(firstSeq, segment);
+    }
+
+    // Sorted by name, which is the zero-padded first sequence number
+    private static List<Path> listSegments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private static int checksum(long seq, long productId, long delta) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(24).putLong(seq).putLong(productId).putLong(delta).flip());
+        return (int) crc.getValue();
+    }
+}
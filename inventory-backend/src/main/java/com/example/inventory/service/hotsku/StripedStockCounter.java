@@ -0,0 +1,107 @@
+package com.example.inventory.service.hotsku;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock-free stock counter split into stripes so concurrent callers on different cores rarely touch the same cache
+// line, in the spirit of LongAdder. Unlike LongAdder it enforces a floor: a decrement only succeeds when the stripes
+// together hold enough stock, and no stripe ever goes negative, so the total can never drop below zero.
+// A decrement may briefly fail while another one is taking units from several stripes and handing some back; this
+// only happens when stock is nearly exhausted.
+public class StripedStockCounter {
+
+    private static final int PADDING = 8; // 8 longs = 64 bytes, one stripe per cache line
+    private static final long SEALED = Long.MIN_VALUE;
+
+    private final int stripes;
+    private final AtomicLongArray cells;
+    private volatile boolean sealed;
+
+    public StripedStockCounter(long initial, int stripes) {
+        this.stripes = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1; // Round up to a power of two
+        this.cells = new AtomicLongArray(this.stripes * PADDING);
+        for (int i = 0; i < this.stripes; i++) {
+            cells.set(i * PADDING, initial / this.stripes + (i < initial % this.stripes ? 1 : 0));
+        }
+    }
+
+    // Returns false when a decrement would take the total below zero, or once the counter has been sealed
+    public boolean tryAdd(long delta) {
+        int home = (int) (Thread.currentThread().threadId() * 0x9E3779B9L >>> 16) & (stripes - 1);
+        if (delta >= 0) {
+            return addTo(home, delta);
+        }
+
+        long needed = -delta;
+        long[] taken = new long[stripes];
+        for (int n = 0; n < stripes && needed > 0; n++) {
+            int stripe = (home + n) & (stripes - 1);
+            int index = stripe * PADDING;
+            while (true) {
+                long value = cells.get(index);
+                if (value == SEALED) {
+                    giveBack(taken);
+                    return false;
+                }
+                long take = Math.min(value, needed);
+                if (take == 0 || cells.compareAndSet(index, value, value - take)) {
+                    taken[stripe] = take;
+                    needed -= take;
+                    break;
+                }
+            }
+        }
+        if (needed > 0) {
+            giveBack(taken);
+            return false;
+        }
+        return true;
+    }
+
+    // Approximate while updates are in flight; exact once the counter is quiet or sealed
+    public long sum() {
+        long total = 0;
+        for (int i = 0; i < stripes; i++) {
+            long value = cells.get(i * PADDING);
+            if (value != SEALED) {
+                total += value;
+            }
+        }
+        return total;
+    }
+
+    // Stops all further updates and returns the final total. Callers that lose the race see tryAdd() return false
+    // and must check isSealed() to tell it apart from insufficient stock.
+    public long seal() {
+        sealed = true;
+        long total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += cells.getAndSet(i * PADDING, SEALED);
+        }
+        return total;
+    }
+
+    public boolean isSealed() {
+        return sealed;
+    }
+
+    private boolean addTo(int stripe, long delta) {
+        int index = stripe * PADDING;
+        while (true) {
+            long value = cells.get(index);
+            if (value == SEALED) {
+                return false;
+            }
+            if (cells.compareAndSet(index, value, value + delta)) {
+                return true;
+            }
+        }
+    }
+
+    private void giveBack(long[] taken) {
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            if (taken[stripe] > 0 && !addTo(stripe, taken[stripe])) {
+                return; // Sealed meanwhile; the counter is discarded and the database is authoritative again
+            }
+        }
+    }
+}
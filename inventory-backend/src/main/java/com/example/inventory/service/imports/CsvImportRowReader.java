@@ -0,0 +1,162 @@
+package com.example.inventory.service.imports;
+
+import com.example.inventory.dto.imports.ProductImportRow;
+import com.example.inventory.exception.InvalidOperationException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Reads RFC 4180 style CSV with a header row. Column names match the ProductImportRow fields (case-insensitive);
+// quoted fields may contain commas, doubled quotes and line breaks.
+public class CsvImportRowReader implements ImportRowReader {
+
+    private static final int MAX_FIELD_LENGTH = 10_000; // Guards against an unterminated quote swallowing the file
+    private static final String[] REQUIRED_COLUMNS = {"sku", "name", "categoryid", "supplierid", "purchaseprice", "sellingprice"};
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long currentLine = 1;
+    private long recordLine;
+
+    public CsvImportRowReader(Reader in) throws IOException {
+        this.reader = new BufferedReader(in, 64 * 1024);
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new InvalidOperationException("CSV upload is empty. A header row is required.");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new InvalidOperationException("CSV header is missing required column '" + column + "'.");
+            }
+        }
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank()); // Skip empty lines
+
+        try {
+            ProductImportRow row = new ProductImportRow();
+            row.setSku(text(fields, "sku"));
+            row.setName(text(fields, "name"));
+            row.setDescription(text(fields, "description"));
+            row.setCategoryId(parseLong(fields, "categoryid"));
+            row.setSupplierId(parseLong(fields, "supplierid"));
+            row.setPurchasePrice(parseDouble(fields, "purchaseprice"));
+            row.setSellingPrice(parseDouble(fields, "sellingprice"));
+            row.setQuantityInStock(parseInteger(fields, "quantityinstock"));
+            row.setLowStockThreshold(parseInteger(fields, "lowstockthreshold"));
+            return ImportRow.parsed(recordLine, row);
+        } catch (NumberFormatException e) {
+            return ImportRow.failed(recordLine, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String text(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private Long parseLong(List<String> fields, String column) {
+        String value = text(fields, column);
+        try {
+            return value == null ? null : Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw invalidNumber(value, column);
+        }
+    }
+
+    private Integer parseInteger(List<String> fields, String column) {
+        String value = text(fields, column);
+        try {
+            return value == null ? null : Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw invalidNumber(value, column);
+        }
+    }
+
+    private Double parseDouble(List<String> fields, String column) {
+        String value = text(fields, column);
+        try {
+            return value == null ? null : Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw invalidNumber(value, column);
+        }
+    }
+
+    private NumberFormatException invalidNumber(String value, String column) {
+        return new NumberFormatException("Invalid number '" + value + "' in column '" + column + "'.");
+    }
+
+    // Reads one logical record, or returns null at end of input
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = currentLine;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    int next = reader.read();
+                    if (next != '"') { // Closing quote; re-examine the following character unquoted
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                    field.append('"');
+                } else {
+                    if (ch == '\n') {
+                        currentLine++;
+                    }
+                    field.append(ch);
+                }
+            } else if (ch == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                currentLine++;
+                fields.add(field.toString());
+                return fields;
+            } else if (ch != '\r') {
+                field.append(ch);
+            }
+            if (field.length() > MAX_FIELD_LENGTH) {
+                throw new InvalidOperationException("CSV field starting at line " + recordLine + " exceeds " + MAX_FIELD_LENGTH + " characters. Check for an unterminated quote.");
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
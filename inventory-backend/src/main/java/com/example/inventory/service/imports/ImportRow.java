@@ -0,0 +1,15 @@
+package com.example.inventory.service.imports;
+
+import com.example.inventory.dto.imports.ProductImportRow;
+
+// A parsed upload row. Exactly one of 'data' or 'error' is set.
+public record ImportRow(long line, ProductImportRow data, String error) {
+
+    public static ImportRow parsed(long line, ProductImportRow data) {
+        return new ImportRow(line, data, null);
+    }
+
+    public static ImportRow failed(long line, String error) {
+        return new ImportRow(line, null, error);
+    }
+}
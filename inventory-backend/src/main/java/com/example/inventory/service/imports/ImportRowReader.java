@@ -0,0 +1,11 @@
+package com.example.inventory.service.imports;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Pull-style reader over an upload; rows are parsed one at a time so the whole file is never held in memory
+public interface ImportRowReader extends Closeable {
+
+    // Returns the next row, or null once the input is exhausted
+    ImportRow next() throws IOException;
+}
@@ -0,0 +1,51 @@
+package com.example.inventory.service.imports;
+
+import com.example.inventory.dto.imports.ProductImportRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+// Reads newline-delimited JSON: one ProductImportRow object per line, blank lines ignored.
+// A line that is valid JSON but not an object (null, a scalar, an array) is a failed row, never a row without data.
+public class NdjsonImportRowReader implements ImportRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader rowReader;
+    private long lineNumber;
+
+    public NdjsonImportRowReader(Reader in, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(in, 64 * 1024);
+        this.rowReader = objectMapper.readerFor(ProductImportRow.class);
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                JsonNode node = rowReader.readTree(line);
+                if (node == null || !node.isObject()) {
+                    return ImportRow.failed(lineNumber, "Expected a JSON object");
+                }
+                return ImportRow.parsed(lineNumber, rowReader.readValue(node));
+            } catch (JsonProcessingException e) {
+                return ImportRow.failed(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
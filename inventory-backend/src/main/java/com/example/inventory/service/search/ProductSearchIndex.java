@@ -0,0 +1,430 @@
+package com.example.inventory.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over the product catalog.
+// Name and SKU are indexed as word-padded trigrams (as in pg_trgm), which match SKU fragments and survive typos,
+// and as whole words in a sorted dictionary for prefix autocomplete. Descriptions are indexed as whole words only:
+// trigrams over every description would roughly double the index for little gain in ranking.
+// Text is folded to lowercase ASCII letters and digits, so every trigram maps to a slot in a flat array.
+// Products are numbered densely (document numbers) so posting lists are plain sorted int arrays.
+// Reads run under a shared lock and catalog edits under the exclusive one. An edit touches a few dozen posting lists
+// and never shifts a long one (see SortedIntList), so the exclusive lock is held briefly even over a large catalog.
+public class ProductSearchIndex {
+
+    public record Hit(long productId, double score) {
+    }
+
+    public record Suggestion(long productId, String name, String sku) {
+    }
+
+    private static final int ALPHABET = 37; // Space, a-z, 0-9
+    private static final int MAX_QUERY_WORDS = 8;
+    private static final int MAX_PREFIX_TERMS = 64;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final double MIN_TRIGRAM_COVERAGE = 0.3;
+    // Postings visited per query, rarest first, so a query made only of very common trigrams stays bounded
+    private static final long SCAN_BUDGET = 1_000_000;
+    // Autocomplete runs on every keystroke; a prefix matching this many products is too short to rank usefully
+    private static final long AUTOCOMPLETE_BUDGET = 50_000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final SortedIntList[] trigrams = new SortedIntList[ALPHABET * ALPHABET * ALPHABET];
+    private final TreeMap<String, Postings> titleWords = new TreeMap<>(); // Name and SKU words
+    private final Map<String, Postings> descriptionWords = new HashMap<>();
+    private final Map<Long, Integer> documents = new HashMap<>();
+    private final Deque<Integer> freeDocuments = new ArrayDeque<>();
+
+    // Per document number
+    private long[] productIds = new long[1024];
+    private String[] names = new String[1024];
+    private String[] skus = new String[1024];
+    private int[] trigramCounts = new int[1024];
+    private Postings[][] wordPostings = new Postings[1024][];
+    private int documentCount; // High-water mark; freed numbers are reused
+
+    public void upsert(long productId, String name, String sku, String description) {
+        List<String> titleTerms = words(normalize(name) + " " + normalize(sku));
+        int[] titleTrigrams = trigramsOf(titleTerms);
+        Set<String> descriptionTerms = new LinkedHashSet<>(words(normalize(description)));
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = documents.get(productId);
+            int doc;
+            if (existing != null) {
+                doc = existing;
+                unindex(doc);
+            } else {
+                doc = allocate();
+                documents.put(productId, doc);
+                productIds[doc] = productId;
+            }
+            names[doc] = name != null ? name : "";
+            skus[doc] = sku != null ? sku : "";
+            for (int trigram : titleTrigrams) {
+                if (trigrams[trigram] == null) {
+                    trigrams[trigram] = new SortedIntList();
+                }
+                trigrams[trigram].add(doc);
+            }
+            trigramCounts[doc] = titleTrigrams.length;
+
+            List<Postings> postings = new ArrayList<>(titleTerms.size() + descriptionTerms.size());
+            for (String term : new LinkedHashSet<>(titleTerms)) {
+                postings.add(titleWords.computeIfAbsent(term, t -> new Postings(t, true)));
+            }
+            for (String term : descriptionTerms) {
+                postings.add(descriptionWords.computeIfAbsent(term, t -> new Postings(t, false)));
+            }
+            for (Postings posting : postings) {
+                posting.documents.add(doc);
+            }
+            wordPostings[doc] = postings.toArray(new Postings[0]);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = documents.remove(productId);
+            if (doc != null) {
+                unindex(doc);
+                names[doc] = null;
+                skus[doc] = null;
+                freeDocuments.push(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Releases the growth slack left in posting lists after a bulk load
+    public void trimToSize() {
+        lock.writeLock().lock();
+        try {
+            for (SortedIntList postings : trigrams) {
+                if (postings != null) {
+                    postings.trimToSize();
+                }
+            }
+            titleWords.values().forEach(postings -> postings.documents.trimToSize());
+            descriptionWords.values().forEach(postings -> postings.documents.trimToSize());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ranks products by trigram coverage of the query (typo tolerant), whole-word hits in name/SKU and description,
+    // and an exact SKU or name-prefix match. The last query word also matches as a prefix, for search-as-you-type.
+    public List<Hit> search(String query, int limit) {
+        List<String> queryWords = distinctWords(normalize(query));
+        if (queryWords.isEmpty()) {
+            return List.of();
+        }
+        int[] queryTrigrams = trigramsOf(queryWords);
+        String rawQuery = query.trim();
+
+        lock.readLock().lock();
+        try {
+            long[] budget = {SCAN_BUDGET};
+            IntIntMap trigramHits = new IntIntMap(1024);
+            List<SortedIntList> lists = new ArrayList<>(queryTrigrams.length);
+            for (int trigram : queryTrigrams) {
+                if (trigrams[trigram] != null) {
+                    lists.add(trigrams[trigram]);
+                }
+            }
+            lists.sort(Comparator.comparingInt(SortedIntList::size));
+            for (SortedIntList list : lists) {
+                if (!spend(budget, list.size())) {
+                    break;
+                }
+                list.forEach(doc -> trigramHits.add(doc, 1));
+            }
+
+            budget[0] = SCAN_BUDGET; // Word postings get their own budget
+            IntIntMap titleHits = new IntIntMap(256);
+            IntIntMap descriptionHits = new IntIntMap(256);
+            for (int w = 0; w < queryWords.size(); w++) {
+                String word = queryWords.get(w);
+                int bit = 1 << w;
+                boolean last = w == queryWords.size() - 1;
+                if (last && word.length() >= MIN_PREFIX_LENGTH) {
+                    int terms = 0;
+                    for (Postings postings : prefixRange(word).values()) {
+                        if (++terms > MAX_PREFIX_TERMS) {
+                            break;
+                        }
+                        mark(titleHits, postings, bit, budget);
+                    }
+                } else {
+                    mark(titleHits, titleWords.get(word), bit, budget);
+                }
+                mark(descriptionHits, descriptionWords.get(word), bit, budget);
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, HIT_ORDER);
+            IntIntMap.EntryConsumer score = (doc, ignored) -> {
+                int matched = trigramHits.get(doc);
+                double coverage = (double) matched / queryTrigrams.length;
+                int titleWordHits = Integer.bitCount(titleHits.get(doc));
+                int descriptionWordHits = Integer.bitCount(descriptionHits.get(doc));
+                if (coverage < MIN_TRIGRAM_COVERAGE && titleWordHits == 0 && descriptionWordHits == 0) {
+                    return;
+                }
+                double similarity = matched == 0 ? 0 : (double) matched / (queryTrigrams.length + trigramCounts[doc] - matched);
+                double value = coverage + 0.2 * similarity
+                        + 0.3 * titleWordHits / queryWords.size()
+                        + 0.15 * descriptionWordHits / queryWords.size();
+                if (skus[doc].equalsIgnoreCase(rawQuery)) {
+                    value += 1.0;
+                } else if (names[doc].regionMatches(true, 0, rawQuery, 0, rawQuery.length())) {
+                    value += 0.2;
+                }
+                top.add(new Hit(productIds[doc], value));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            };
+            trigramHits.forEach(score);
+            titleHits.forEach((doc, bits) -> {
+                if (!trigramHits.containsKey(doc)) {
+                    score.accept(doc, bits);
+                }
+            });
+            descriptionHits.forEach((doc, bits) -> {
+                if (!trigramHits.containsKey(doc) && !titleHits.containsKey(doc)) {
+                    score.accept(doc, bits);
+                }
+            });
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(HIT_ORDER.reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Products whose name or SKU has a word starting with the last word typed and contains the earlier words,
+    // shortest names first. Served entirely from memory.
+    public List<Suggestion> autocomplete(String prefix, int limit) {
+        List<String> prefixWords = distinctWords(normalize(prefix));
+        if (prefixWords.isEmpty()) {
+            return List.of();
+        }
+        String last = prefixWords.get(prefixWords.size() - 1);
+
+        lock.readLock().lock();
+        try {
+            List<SortedIntList> required = new ArrayList<>();
+            for (String word : prefixWords.subList(0, prefixWords.size() - 1)) {
+                Postings postings = titleWords.get(word);
+                if (postings == null) {
+                    return List.of();
+                }
+                required.add(postings.documents);
+            }
+
+            Comparator<Integer> order = Comparator.<Integer>comparingInt(doc -> names[doc].length())
+                    .thenComparing(doc -> names[doc])
+                    .thenComparingLong(doc -> productIds[doc]);
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, order.reversed());
+            IntIntMap seen = new IntIntMap(256);
+            long[] budget = {AUTOCOMPLETE_BUDGET};
+            int terms = 0;
+            for (Postings postings : prefixRange(last).values()) {
+                if (++terms > MAX_PREFIX_TERMS || !spend(budget, AUTOCOMPLETE_BUDGET, postings.documents.size())) {
+                    break;
+                }
+                postings.documents.forEach(doc -> {
+                    if (top.size() == limit && names[doc].length() > names[top.peek()].length()) {
+                        return; // Cheap reject before the full comparison
+                    }
+                    if (seen.containsKey(doc) || !containsAll(required, doc)) {
+                        return;
+                    }
+                    seen.add(doc, 1);
+                    top.add(doc);
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                });
+            }
+
+            List<Integer> docs = new ArrayList<>(top);
+            docs.sort(order);
+            List<Suggestion> suggestions = new ArrayList<>(docs.size());
+            for (int doc : docs) {
+                suggestions.add(new Suggestion(productIds[doc], names[doc], skus[doc]));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final Comparator<Hit> HIT_ORDER = Comparator.comparingDouble(Hit::score)
+            .thenComparing(Comparator.comparingLong(Hit::productId).reversed());
+
+    private NavigableMap<String, Postings> prefixRange(String prefix) {
+        return titleWords.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static boolean spend(long[] budget, int postings) {
+        return spend(budget, SCAN_BUDGET, postings);
+    }
+
+    private static boolean spend(long[] budget, long total, int postings) {
+        if (budget[0] < total && postings > budget[0]) {
+            return false; // Always scan at least one list, however long
+        }
+        budget[0] -= postings;
+        return true;
+    }
+
+    private static void mark(IntIntMap hits, Postings postings, int bit, long[] budget) {
+        if (postings == null || !spend(budget, postings.documents.size())) {
+            return;
+        }
+        postings.documents.forEach(doc -> hits.or(doc, bit));
+    }
+
+    private static boolean containsAll(List<SortedIntList> lists, int doc) {
+        for (SortedIntList list : lists) {
+            if (!list.contains(doc)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Caller holds the write lock
+    private void unindex(int doc) {
+        int[] oldTrigrams = trigramsOf(words(normalize(names[doc]) + " " + normalize(skus[doc])));
+        for (int trigram : oldTrigrams) {
+            if (trigrams[trigram] != null) {
+                trigrams[trigram].remove(doc);
+            }
+        }
+        for (Postings postings : wordPostings[doc]) {
+            postings.documents.remove(doc);
+            if (postings.documents.size() == 0) {
+                (postings.title ? titleWords : descriptionWords).remove(postings.term);
+            }
+        }
+        wordPostings[doc] = null;
+    }
+
+    private int allocate() {
+        if (!freeDocuments.isEmpty()) {
+            return freeDocuments.pop();
+        }
+        if (documentCount == productIds.length) {
+            int capacity = productIds.length * 2;
+            productIds = Arrays.copyOf(productIds, capacity);
+            names = Arrays.copyOf(names, capacity);
+            skus = Arrays.copyOf(skus, capacity);
+            trigramCounts = Arrays.copyOf(trigramCounts, capacity);
+            wordPostings = Arrays.copyOf(wordPostings, capacity);
+        }
+        return documentCount++;
+    }
+
+    // Lowercase ASCII letters and digits; accents are stripped and everything else separates words
+    static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean space = true;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = Character.toLowerCase(decomposed.charAt(i));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                normalized.append(c);
+                space = false;
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK && !space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        int length = normalized.length();
+        return length > 0 && normalized.charAt(length - 1) == ' ' ? normalized.substring(0, length - 1) : normalized.toString();
+    }
+
+    private static List<String> words(String normalized) {
+        return normalized.isBlank() ? List.of() : List.of(normalized.trim().split(" "));
+    }
+
+    private static List<String> distinctWords(String normalized) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(words(normalized)));
+        return distinct.size() > MAX_QUERY_WORDS ? distinct.subList(0, MAX_QUERY_WORDS) : distinct;
+    }
+
+    // Distinct trigrams of each word padded with two leading spaces and one trailing space, as pg_trgm does
+    private static int[] trigramsOf(List<String> words) {
+        int count = 0;
+        for (String word : words) {
+            count += word.length() + 1;
+        }
+        int[] result = new int[count];
+        int n = 0;
+        for (String word : words) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                result[n++] = (code(padded.charAt(i)) * ALPHABET + code(padded.charAt(i + 1))) * ALPHABET
+                        + code(padded.charAt(i + 2));
+            }
+        }
+        return Arrays.stream(result, 0, n).sorted().distinct().toArray();
+    }
+
+    private static int code(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 1;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 27;
+        }
+        return 0;
+    }
+
+    private static final class Postings {
+        final String term;
+        final boolean title;
+        final SortedIntList documents = new SortedIntList();
+
+        Postings(String term, boolean title) {
+            this.term = term;
+            this.title = title;
+        }
+    }
+}
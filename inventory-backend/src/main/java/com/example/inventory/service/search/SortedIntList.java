@@ -0,0 +1,143 @@
+package com.example.inventory.service.search;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Posting list: ascending document numbers in a plain int array. Appends go straight onto the array; inserts and
+// removals in the middle are buffered in two small sorted arrays and merged in on iteration, so an edit to a list
+// of a million documents does not shift the tail under the index's write lock. The buffers are folded back into
+// the array in one pass once they reach MAX_PENDING (or a sixteenth of the list, for small lists).
+final class SortedIntList {
+
+    private static final int MIN_PENDING = 16;
+    private static final int MAX_PENDING = 1024;
+
+    private int[] values = new int[4];
+    private int size;
+    private int[] added = new int[0]; // Not in values
+    private int addedCount;
+    private int[] removed = new int[0]; // In values, no longer in the list
+    private int removedCount;
+
+    void add(int value) {
+        if (addedCount == 0 && (size == 0 || values[size - 1] < value)) {
+            values = ensureCapacity(values, size);
+            values[size++] = value;
+            return;
+        }
+        if (Arrays.binarySearch(values, 0, size, value) >= 0) {
+            int index = Arrays.binarySearch(removed, 0, removedCount, value);
+            if (index >= 0) {
+                removedCount = delete(removed, removedCount, index);
+            }
+            return;
+        }
+        int index = Arrays.binarySearch(added, 0, addedCount, value);
+        if (index >= 0) {
+            return;
+        }
+        added = ensureCapacity(added, addedCount);
+        addedCount = insert(added, addedCount, -index - 1, value);
+        compactIfFull();
+    }
+
+    boolean remove(int value) {
+        int index = Arrays.binarySearch(added, 0, addedCount, value);
+        if (index >= 0) {
+            addedCount = delete(added, addedCount, index);
+            return true;
+        }
+        if (Arrays.binarySearch(values, 0, size, value) < 0) {
+            return false;
+        }
+        index = Arrays.binarySearch(removed, 0, removedCount, value);
+        if (index >= 0) {
+            return false;
+        }
+        removed = ensureCapacity(removed, removedCount);
+        removedCount = insert(removed, removedCount, -index - 1, value);
+        compactIfFull();
+        return true;
+    }
+
+    boolean contains(int value) {
+        if (Arrays.binarySearch(values, 0, size, value) >= 0) {
+            return Arrays.binarySearch(removed, 0, removedCount, value) < 0;
+        }
+        return Arrays.binarySearch(added, 0, addedCount, value) >= 0;
+    }
+
+    // Visits the documents in ascending order
+    void forEach(IntConsumer consumer) {
+        if (addedCount == 0 && removedCount == 0) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept(values[i]);
+            }
+            return;
+        }
+        int a = 0;
+        int r = 0;
+        for (int i = 0; i < size; i++) {
+            int value = values[i];
+            while (a < addedCount && added[a] < value) {
+                consumer.accept(added[a++]);
+            }
+            if (r < removedCount && removed[r] == value) {
+                r++;
+            } else {
+                consumer.accept(value);
+            }
+        }
+        while (a < addedCount) {
+            consumer.accept(added[a++]);
+        }
+    }
+
+    int size() {
+        return size + addedCount - removedCount;
+    }
+
+    void trimToSize() {
+        compact();
+        if (values.length > size) {
+            values = Arrays.copyOf(values, Math.max(size, 1));
+        }
+        added = new int[0];
+        removed = new int[0];
+    }
+
+    private void compactIfFull() {
+        int limit = Math.min(MAX_PENDING, Math.max(MIN_PENDING, size >> 4));
+        if (addedCount + removedCount >= limit) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        if (addedCount == 0 && removedCount == 0) {
+            return;
+        }
+        int[] merged = new int[size() + (size() >> 3) + 1];
+        int[] n = {0};
+        forEach(value -> merged[n[0]++] = value);
+        values = merged;
+        size = n[0];
+        addedCount = 0;
+        removedCount = 0;
+    }
+
+    private static int insert(int[] array, int count, int index, int value) {
+        System.arraycopy(array, index, array, index + 1, count - index);
+        array[index] = value;
+        return count + 1;
+    }
+
+    private static int delete(int[] array, int count, int index) {
+        System.arraycopy(array, index + 1, array, index, count - index - 1);
+        return count - 1;
+    }
+
+    private static int[] ensureCapacity(int[] array, int count) {
+        return count < array.length ? array : Arrays.copyOf(array, array.length + (array.length >> 1) + 1);
+    }
+}
@@ -0,0 +1,7 @@
+-- Per-product ledger pages are keyed on (occurred_at, movement_id): movement IDs come from pooled sequence blocks,
+-- so across instances they do not follow time order. One index now serves both the pages and the "as of" tail sum,
+-- which only reads quantity_delta and stays an index-only scan.
+CREATE INDEX IF NOT EXISTS idx_stock_movements_product_time_movement
+    ON stock_movements (product_id, occurred_at, movement_id) INCLUDE (quantity_delta);
+DROP INDEX IF EXISTS idx_stock_movements_product_movement;
+DROP INDEX IF EXISTS idx_stock_movements_product_time_delta;
@@ -0,0 +1,3 @@
+-- Bumped whenever a user's password, role or username changes. Bearer tokens carry the epoch they were issued
+-- under and stop verifying once it moves on, on every instance and across restarts.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_epoch BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,4 @@
+-- The product DTOs have always accepted descriptions of up to 500 characters, but the column only held 255, so a
+-- longer one passed validation and failed at the database (and took a whole import chunk down with it).
+-- Widening a VARCHAR is a catalog-only change in PostgreSQL; no table rewrite.
+ALTER TABLE products ALTER COLUMN description TYPE VARCHAR(500);
@@ -0,0 +1,3 @@
+-- Tombstones in GET /api/inventory/changes are paged like the changed rows, keyed on (deleted_at, inventory_id)
+CREATE INDEX IF NOT EXISTS idx_inventory_tombstones_deleted_at_id ON inventory_tombstones (deleted_at, inventory_id);
+DROP INDEX IF EXISTS idx_inventory_tombstones_deleted_at;
@@ -0,0 +1,40 @@
+-- Baseline: the schema as previously generated by Hibernate from the entity mappings.
+-- IF NOT EXISTS keeps this a no-op on databases that were created with ddl-auto before migrations existed.
+
+CREATE TABLE IF NOT EXISTS categories (
+    category_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS suppliers (
+    supplier_id  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name         VARCHAR(255) NOT NULL UNIQUE,
+    contact_info VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS products (
+    product_id     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name           VARCHAR(255) NOT NULL,
+    sku            VARCHAR(255) NOT NULL UNIQUE,
+    description    VARCHAR(255),
+    category_id    BIGINT REFERENCES categories (category_id),
+    supplier_id    BIGINT REFERENCES suppliers (supplier_id),
+    purchase_price FLOAT(53)    NOT NULL,
+    selling_price  FLOAT(53)    NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS inventory (
+    inventory_id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    product_id          BIGINT  NOT NULL UNIQUE REFERENCES products (product_id),
+    quantity_in_stock   INTEGER NOT NULL DEFAULT 0,
+    created_at          TIMESTAMP(6),
+    last_updated        TIMESTAMP(6),
+    low_stock_threshold INTEGER
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    user_id  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role     VARCHAR(50)  NOT NULL DEFAULT 'ROLE_USER'
+);
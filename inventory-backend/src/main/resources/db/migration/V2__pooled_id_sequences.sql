@@ -0,0 +1,20 @@
+-- Move every table from identity columns to sequences consumed by Hibernate's pooled optimizer.
+-- INCREMENT BY must equal IdGeneration.ALLOCATION_SIZE. Each sequence starts one block above the current
+-- maximum, so the first reserved block begins right after the existing IDs, which are left untouched.
+
+CREATE OR REPLACE FUNCTION pg_temp.create_pooled_sequence(seq_name TEXT, table_name TEXT, id_column TEXT)
+RETURNS VOID AS $$
+DECLARE
+    start_value BIGINT;
+BEGIN
+    EXECUTE format('SELECT COALESCE(MAX(%I), 0) + 50 FROM %I', id_column, table_name) INTO start_value;
+    EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH %s INCREMENT BY 50', seq_name, start_value);
+    EXECUTE format('ALTER TABLE %I ALTER COLUMN %I DROP IDENTITY IF EXISTS', table_name, id_column);
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT pg_temp.create_pooled_sequence('category_seq', 'categories', 'category_id');
+SELECT pg_temp.create_pooled_sequence('supplier_seq', 'suppliers', 'supplier_id');
+SELECT pg_temp.create_pooled_sequence('product_seq', 'products', 'product_id');
+SELECT pg_temp.create_pooled_sequence('inventory_seq', 'inventory', 'inventory_id');
+SELECT pg_temp.create_pooled_sequence('user_seq', 'users', 'user_id');
@@ -0,0 +1,11 @@
+-- Low-stock detection used to compare two columns (quantity_in_stock < low_stock_threshold), which no plain index
+-- can serve, so every GET /api/inventory/low-stock scanned the whole table.
+-- The flag is a stored generated column: PostgreSQL recomputes it in the same row write as any change to quantity or
+-- threshold, whichever code path makes it (JPA, the atomic adjust statement or the JDBC importer).
+-- A missing threshold never counts as low stock, matching the previous predicate.
+ALTER TABLE inventory
+    ADD COLUMN IF NOT EXISTS low_stock BOOLEAN NOT NULL
+        GENERATED ALWAYS AS (quantity_in_stock < COALESCE(low_stock_threshold, 0)) STORED;
+
+-- Partial index: holds only the low-stock rows, so the lookup cost follows the size of the result, not the table
+CREATE INDEX IF NOT EXISTS idx_inventory_low_stock ON inventory (inventory_id) WHERE low_stock;
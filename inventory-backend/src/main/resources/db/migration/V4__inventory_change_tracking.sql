@@ -0,0 +1,14 @@
+-- Incremental sync (GET /api/inventory/changes) reads inventory rows in (last_updated, inventory_id) order starting
+-- from a client watermark; this index serves that range scan instead of a full table scan.
+UPDATE inventory SET last_updated = COALESCE(created_at, LOCALTIMESTAMP) WHERE last_updated IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_inventory_last_updated ON inventory (last_updated, inventory_id);
+
+-- Deleted rows leave no trace in inventory, so deletions are recorded here for sync clients to replay
+CREATE TABLE IF NOT EXISTS inventory_tombstones (
+    inventory_id BIGINT       PRIMARY KEY,
+    product_id   BIGINT       NOT NULL,
+    deleted_at   TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_tombstones_deleted_at ON inventory_tombstones (deleted_at);
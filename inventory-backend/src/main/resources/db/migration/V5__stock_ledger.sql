@@ -0,0 +1,32 @@
+-- Append-only ledger of stock movements. Every change to inventory.quantity_in_stock writes one row in the same
+-- transaction, so stock at any past moment can be rebuilt. product_id is a plain column: history outlives products.
+CREATE SEQUENCE IF NOT EXISTS stock_movement_seq START WITH 50 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS stock_movements (
+    movement_id    BIGINT       PRIMARY KEY,
+    product_id     BIGINT       NOT NULL,
+    movement_type  VARCHAR(20)  NOT NULL,
+    quantity_delta INTEGER      NOT NULL,
+    quantity_after INTEGER      NOT NULL,
+    reference      VARCHAR(255),
+    occurred_at    TIMESTAMP(6) NOT NULL
+);
+
+-- Serves both the per-product history and the "as of" tail scan after the latest snapshot
+CREATE INDEX IF NOT EXISTS idx_stock_movements_product_time ON stock_movements (product_id, occurred_at);
+-- Serves the snapshot job, which only reads movements since its previous run
+CREATE INDEX IF NOT EXISTS idx_stock_movements_occurred_at ON stock_movements (occurred_at);
+
+-- Periodic per-product stock level, so reconstructing a past level reads one snapshot plus a bounded tail of movements.
+-- Rows are only ever written by set-based SQL, so the natural key is enough.
+CREATE TABLE IF NOT EXISTS stock_snapshots (
+    product_id BIGINT       NOT NULL,
+    as_of      TIMESTAMP(6) NOT NULL,
+    quantity   INTEGER      NOT NULL,
+    PRIMARY KEY (product_id, as_of)
+);
+
+-- History starts here: anchor the current stock of every product so later movements apply on top of it
+INSERT INTO stock_snapshots (product_id, as_of, quantity)
+SELECT product_id, LOCALTIMESTAMP, quantity_in_stock FROM inventory
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,21 @@
+-- Stock held for checkouts between cart and payment. inventory.reserved_quantity is the running total of active
+-- reservations, so available-to-promise (quantity_in_stock - reserved_quantity) is read from a single row.
+ALTER TABLE inventory ADD COLUMN IF NOT EXISTS reserved_quantity INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE inventory ADD CONSTRAINT chk_inventory_reserved_quantity CHECK (reserved_quantity >= 0);
+
+CREATE SEQUENCE IF NOT EXISTS stock_reservation_seq START WITH 50 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS stock_reservations (
+    reservation_id BIGINT       PRIMARY KEY,
+    product_id     BIGINT       NOT NULL REFERENCES products (product_id),
+    quantity       INTEGER      NOT NULL CHECK (quantity > 0),
+    status         VARCHAR(20)  NOT NULL,
+    reference      VARCHAR(255),
+    created_at     TIMESTAMP(6) NOT NULL,
+    expires_at     TIMESTAMP(6) NOT NULL,
+    closed_at      TIMESTAMP(6)
+);
+
+-- Only active reservations are ever looked up by expiry (startup reload and the overdue sweep)
+CREATE INDEX IF NOT EXISTS idx_stock_reservations_active_expiry
+    ON stock_reservations (expires_at, reservation_id) WHERE status = 'ACTIVE';
@@ -0,0 +1,8 @@
+-- Highest hot-SKU journal sequence number already applied to inventory. Updated in the same transaction as each
+-- write-behind flush, so replaying the journal after a crash applies every change exactly once.
+CREATE TABLE IF NOT EXISTS hot_sku_journal_checkpoint (
+    id               SMALLINT PRIMARY KEY CHECK (id = 1),
+    last_applied_seq BIGINT   NOT NULL
+);
+
+INSERT INTO hot_sku_journal_checkpoint (id, last_applied_seq) VALUES (1, 0) ON CONFLICT DO NOTHING;
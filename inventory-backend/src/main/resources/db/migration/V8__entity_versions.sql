@@ -0,0 +1,4 @@
+-- Optimistic-locking versions, also used as ETags. Every write to these rows bumps the version: Hibernate for
+-- entity updates, the native UPDATE statements explicitly. Existing rows and JDBC-imported rows start at 0.
+ALTER TABLE products ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE inventory ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,28 @@
+-- Indexes for the query paths that still fell back to sequential scans. PostgreSQL does not index foreign keys on its
+-- own, so every category/supplier delete check, version bump and filtered product page read the whole products table.
+-- SchemaIndexCheck refuses to start the application if any index it expects is missing or invalid.
+
+-- Category/supplier filters and reference checks. The trailing product_id lets a filtered keyset page
+-- (WHERE category_id = ? AND product_id > ? ORDER BY product_id) read the index in order and stop after one page.
+CREATE INDEX IF NOT EXISTS idx_products_category ON products (category_id, product_id);
+CREATE INDEX IF NOT EXISTS idx_products_supplier ON products (supplier_id, product_id);
+
+-- SKU prefix filters (sku LIKE 'ABC%'). The unique index on sku follows the database collation, which LIKE can only
+-- range-scan under the C collation; text_pattern_ops compares byte-wise and works under any collation.
+CREATE INDEX IF NOT EXISTS idx_products_sku_pattern ON products (sku text_pattern_ops);
+
+-- Per-product ledger pages seek and sort on movement_id, which the (product_id, occurred_at) index cannot do
+CREATE INDEX IF NOT EXISTS idx_stock_movements_product_movement ON stock_movements (product_id, movement_id);
+
+-- Covering replacements for the ledger time indexes: the "as of" tail sum and the snapshot job only read
+-- quantity_delta (and product_id), so they become index-only scans. The ledger is append-only, which keeps the
+-- visibility map current and the heap untouched.
+CREATE INDEX IF NOT EXISTS idx_stock_movements_product_time_delta
+    ON stock_movements (product_id, occurred_at) INCLUDE (quantity_delta);
+DROP INDEX IF EXISTS idx_stock_movements_product_time;
+CREATE INDEX IF NOT EXISTS idx_stock_movements_time_delta
+    ON stock_movements (occurred_at) INCLUDE (product_id, quantity_delta);
+DROP INDEX IF EXISTS idx_stock_movements_occurred_at;
+
+-- Deleting a product checks this foreign key; without an index that scans every reservation ever made
+CREATE INDEX IF NOT EXISTS idx_stock_reservations_product ON stock_reservations (product_id);
@@ -0,0 +1,55 @@
+package com.example.inventory.handler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTests {
+
+	private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+	private final WebRequest request = new ServletWebRequest(new MockHttpServletRequest("POST", "/api/products"));
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(handler, "meterRegistry", new SimpleMeterRegistry());
+	}
+
+	@Test
+	void uniqueViolationsAreConflicts() {
+		assertEquals(HttpStatus.CONFLICT, status(violation("23505")));
+		assertEquals(HttpStatus.CONFLICT, status(new DuplicateKeyException("duplicate key value")));
+	}
+
+	@Test
+	void otherIntegrityViolationsAreNotConflicts() {
+		assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, status(violation("23502"))); // NOT NULL
+		assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, status(violation("23503"))); // Foreign key
+		assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, status(violation("23514"))); // Check constraint
+		assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, status(violation("22001"))); // Value too long
+		assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, status(new DataIntegrityViolationException("no cause")));
+	}
+
+	private HttpStatus status(DataIntegrityViolationException ex) {
+		ResponseEntity<ErrorResponse> response = handler.handleDataIntegrityViolation(ex, request);
+		assertEquals(response.getStatusCode().value(), response.getBody().getStatus());
+		return HttpStatus.valueOf(response.getStatusCode().value());
+	}
+
+	// Shaped like Hibernate's translation: the driver's SQLException sits below a wrapper
+	private static DataIntegrityViolationException violation(String sqlState) {
+		return new DataIntegrityViolationException("could not execute statement",
+				new RuntimeException("constraint", new SQLException("violation", sqlState)));
+	}
+}
@@ -0,0 +1,261 @@
+package com.example.inventory.service;
+
+import com.example.inventory.dto.inventory.BulkAdjustEntry;
+import com.example.inventory.dto.inventory.BulkAdjustRequest;
+import com.example.inventory.dto.inventory.BulkAdjustResultDTO;
+import com.example.inventory.dto.inventory.BulkAdjustRowResultDTO;
+import com.example.inventory.dto.inventory.BulkAdjustRowResultDTO.Status;
+import com.example.inventory.entity.MovementType;
+import com.example.inventory.event.InventoryChangeEvent;
+import com.example.inventory.exception.InvalidOperationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryBulkAdjustServiceTests {
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+	@Mock
+	private TransactionTemplate transactionTemplate;
+	@Mock
+	private SequenceIdAllocator idAllocator;
+	@Mock
+	private HotSkuService hotSkuService;
+	@Mock
+	private InventoryService inventoryService;
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+	@Mock
+	private PreparedStatement preparedStatement;
+	@Mock
+	private Connection connection;
+	@InjectMocks
+	private InventoryBulkAdjustService service;
+
+	// Inventory rows the locking SELECT returns, by product ID
+	private final Map<Long, ResultSet> inventory = new HashMap<>();
+	private Object[] lockedIds;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		ReflectionTestUtils.setField(service, "chunkSize", 1000);
+		lenient().doAnswer(invocation -> {
+			invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+		lenient().when(idAllocator.allocate(eq("stock_movement_seq"), anyInt()))
+				.thenAnswer(invocation -> LongStream.range(0, invocation.<Integer>getArgument(1)).map(i -> 100 + i).toArray());
+		lenient().when(preparedStatement.getConnection()).thenReturn(connection);
+		lenient().when(connection.createArrayOf(eq("bigint"), any())).thenAnswer(invocation -> {
+			lockedIds = invocation.getArgument(1);
+			return null;
+		});
+		lenient().doAnswer(invocation -> {
+			invocation.<PreparedStatementSetter>getArgument(1).setValues(preparedStatement);
+			RowCallbackHandler handler = invocation.getArgument(2);
+			for (Object id : lockedIds) {
+				if (inventory.containsKey((Long) id)) {
+					handler.processRow(inventory.get((Long) id));
+				}
+			}
+			return null;
+		}).when(jdbcTemplate).query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+	}
+
+	@Test
+	void appliesDeltasAndCountsInRequestOrder() throws SQLException {
+		givenInventory(1L, 11L, 10, 0);
+		givenInventory(2L, 12L, 7, 0);
+
+		BulkAdjustResultDTO result = service.adjust(request(
+				new BulkAdjustEntry(1L, 5, null),
+				new BulkAdjustEntry(2L, null, 7), // Count matches: nothing to write
+				new BulkAdjustEntry(1L, null, 20),
+				new BulkAdjustEntry(1L, -3, null)));
+
+		assertEquals(4, result.getAppliedRows());
+		assertEquals(0, result.getFailedRows());
+		assertEquals(List.of(15, 7, 20, 17), quantities(result));
+
+		List<Object[]> updates = batchArgs("UPDATE inventory");
+		assertEquals(1, updates.size());
+		assertArrayEquals(new Object[]{17, 11L}, updates.get(0));
+
+		List<Object[]> movements = batchArgs("INSERT INTO stock_movements");
+		assertEquals(3, movements.size()); // One per non-zero entry
+		assertArrayEquals(new Object[]{100L, 1L, 5, 15, "CC-1"}, movements.get(0));
+		assertArrayEquals(new Object[]{101L, 1L, 5, 20, "CC-1"}, movements.get(1));
+		assertArrayEquals(new Object[]{102L, 1L, -3, 17, "CC-1"}, movements.get(2));
+
+		List<InventoryChangeEvent> events = publishedEvents(1);
+		assertEquals(1L, events.get(0).productId());
+		assertEquals(7, events.get(0).quantityDelta()); // Net change for the product
+		assertEquals(17, events.get(0).quantityInStock());
+	}
+
+	@Test
+	void rejectsLevelsBelowReservedStockOrPastIntegerRange() throws SQLException {
+		givenInventory(1L, 11L, 10, 4);
+
+		BulkAdjustResultDTO result = service.adjust(request(
+				new BulkAdjustEntry(1L, null, 3),
+				new BulkAdjustEntry(1L, -6, null),
+				new BulkAdjustEntry(1L, Integer.MAX_VALUE, null)));
+
+		List<BulkAdjustRowResultDTO> rows = result.getResults();
+		assertEquals(Status.REJECTED, rows.get(0).getStatus());
+		assertTrue(rows.get(0).getError().contains("4 units held by active reservations"));
+		assertEquals(Status.APPLIED, rows.get(1).getStatus());
+		assertEquals(4, rows.get(1).getQuantityInStock());
+		assertEquals(Status.REJECTED, rows.get(2).getStatus());
+		assertTrue(rows.get(2).getError().contains("overflow"));
+		assertEquals(1, result.getAppliedRows());
+
+		assertArrayEquals(new Object[]{4, 11L}, batchArgs("UPDATE inventory").get(0));
+		assertEquals(1, batchArgs("INSERT INTO stock_movements").size());
+	}
+
+	@Test
+	void reportsMissingInventoryAndInvalidEntriesPerRow() {
+		BulkAdjustResultDTO result = service.adjust(request(
+				new BulkAdjustEntry(9L, 1, null),
+				new BulkAdjustEntry(null, 1, null),
+				new BulkAdjustEntry(1L, 1, 1),
+				new BulkAdjustEntry(1L, null, -1)));
+
+		List<BulkAdjustRowResultDTO> rows = result.getResults();
+		assertEquals(Status.NOT_FOUND, rows.get(0).getStatus());
+		assertEquals("Product ID is required.", rows.get(1).getError());
+		assertEquals("Exactly one of delta or quantity is required.", rows.get(2).getError());
+		assertEquals("Quantity cannot be negative.", rows.get(3).getError());
+		assertEquals(4, result.getFailedRows());
+		assertArrayEquals(new Object[]{9L}, lockedIds); // Invalid rows never reach the database
+		verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), any(int[].class));
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	void failedChunkRollsBackOnlyItself() throws SQLException {
+		ReflectionTestUtils.setField(service, "chunkSize", 2);
+		for (long productId = 1; productId <= 4; productId++) {
+			givenInventory(productId, 10 + productId, 5, 0);
+		}
+		lenient().when(jdbcTemplate.batchUpdate(startsWith("UPDATE inventory"), anyList(), any(int[].class)))
+				.thenThrow(new QueryTimeoutException("lock timeout"))
+				.thenReturn(new int[]{1, 1});
+
+		BulkAdjustResultDTO result = service.adjust(request(
+				new BulkAdjustEntry(1L, 1, null),
+				new BulkAdjustEntry(2L, 1, null),
+				new BulkAdjustEntry(3L, 1, null),
+				new BulkAdjustEntry(4L, 1, null)));
+
+		List<BulkAdjustRowResultDTO> rows = result.getResults();
+		assertEquals(Status.REJECTED, rows.get(0).getStatus());
+		assertEquals("Chunk rejected by the database: lock timeout", rows.get(1).getError());
+		assertEquals(Status.APPLIED, rows.get(2).getStatus());
+		assertEquals(6, rows.get(3).getQuantityInStock());
+		assertEquals(2, result.getAppliedRows());
+
+		List<InventoryChangeEvent> events = publishedEvents(2);
+		assertEquals(List.of(3L, 4L), events.stream().map(InventoryChangeEvent::productId).toList());
+	}
+
+	@Test
+	void hotSkusTakeOnlyDeltasThroughTheAdjustPath() {
+		when(hotSkuService.isHot(anyLong())).thenAnswer(invocation -> invocation.<Long>getArgument(0) == 5L);
+		when(inventoryService.adjustStock(5L, 2, MovementType.ADJUSTMENT, "CC-1")).thenReturn(12);
+		when(inventoryService.adjustStock(5L, -100, MovementType.ADJUSTMENT, "CC-1"))
+				.thenThrow(new InvalidOperationException("Insufficient stock for product ID: 5"));
+
+		BulkAdjustResultDTO result = service.adjust(request(
+				new BulkAdjustEntry(5L, null, 10),
+				new BulkAdjustEntry(5L, 2, null),
+				new BulkAdjustEntry(5L, -100, null)));
+
+		List<BulkAdjustRowResultDTO> rows = result.getResults();
+		assertEquals(Status.REJECTED, rows.get(0).getStatus());
+		assertTrue(rows.get(0).getError().contains("hot-SKU mode"));
+		assertEquals(Status.APPLIED, rows.get(1).getStatus());
+		assertEquals(12, rows.get(1).getQuantityInStock());
+		assertEquals("Insufficient stock for product ID: 5", rows.get(2).getError());
+		verifyNoInteractions(transactionTemplate, jdbcTemplate);
+	}
+
+	private void givenInventory(long productId, long inventoryId, int quantity, int reserved) throws SQLException {
+		ResultSet row = mock(ResultSet.class);
+		when(row.getLong("product_id")).thenReturn(productId);
+		when(row.getLong("inventory_id")).thenReturn(inventoryId);
+		when(row.getInt("quantity_in_stock")).thenReturn(quantity);
+		when(row.getInt("reserved_quantity")).thenReturn(reserved);
+		inventory.put(productId, row);
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Object[]> batchArgs(String sqlPrefix) {
+		ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+		verify(jdbcTemplate).batchUpdate(startsWith(sqlPrefix), args.capture(), any(int[].class));
+		return args.getValue();
+	}
+
+	private List<InventoryChangeEvent> publishedEvents(int count) {
+		ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+		verify(eventPublisher, times(count)).publishEvent(events.capture());
+		List<InventoryChangeEvent> published = new ArrayList<>();
+		events.getAllValues().forEach(event -> published.add((InventoryChangeEvent) event));
+		return published;
+	}
+
+	private static List<Integer> quantities(BulkAdjustResultDTO result) {
+		return result.getResults().stream().map(BulkAdjustRowResultDTO::getQuantityInStock).toList();
+	}
+
+	private static BulkAdjustRequest request(BulkAdjustEntry... entries) {
+		BulkAdjustRequest request = new BulkAdjustRequest();
+		request.setEntries(List.of(entries));
+		request.setReference("CC-1");
+		return request;
+	}
+}
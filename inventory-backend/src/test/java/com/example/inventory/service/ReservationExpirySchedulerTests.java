@@ -0,0 +1,123 @@
+package com.example.inventory.service;
+
+import com.example.inventory.entity.ReservationStatus;
+import com.example.inventory.repository.StockReservationRepository;
+import com.example.inventory.repository.projection.ReservationExpiry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationExpirySchedulerTests {
+
+	private static final LocalDateTime PAST = LocalDateTime.now().minusMinutes(5);
+	private static final LocalDateTime FUTURE = LocalDateTime.now().plusHours(1);
+
+	@Mock
+	private StockReservationRepository stockReservationRepository;
+	@Mock
+	private TransactionTemplate transactionTemplate;
+	@InjectMocks
+	private ReservationExpiryScheduler scheduler;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(scheduler, "batchSize", 2);
+		lenient().doAnswer(invocation -> {
+			Consumer<TransactionStatus> callback = invocation.getArgument(0);
+			callback.accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+	}
+
+	@Test
+	void expiresOnlyDueReservationsInBatches() {
+		scheduler.schedule(3L, PAST.plusSeconds(2));
+		scheduler.schedule(1L, PAST);
+		scheduler.schedule(4L, FUTURE);
+		scheduler.schedule(2L, PAST);
+
+		scheduler.expireDue();
+
+		verify(stockReservationRepository).expireActive(List.of(1L, 2L));
+		verify(stockReservationRepository).expireActive(List.of(3L));
+		verifyNoMoreInteractions(stockReservationRepository);
+	}
+
+	@Test
+	void cancelledReservationIsNotExpired() {
+		scheduler.schedule(1L, PAST);
+		scheduler.schedule(2L, PAST);
+		scheduler.cancel(1L, PAST);
+
+		scheduler.expireDue();
+
+		verify(stockReservationRepository).expireActive(List.of(2L));
+		verifyNoMoreInteractions(stockReservationRepository);
+	}
+
+	@Test
+	void failedBatchIsRetriedOnTheNextTick() {
+		when(stockReservationRepository.expireActive(anyCollection()))
+				.thenThrow(new QueryTimeoutException("canceling statement due to lock timeout"))
+				.thenReturn(1);
+		scheduler.schedule(1L, PAST);
+
+		scheduler.expireDue();
+		scheduler.expireDue();
+		scheduler.expireDue();
+
+		verify(stockReservationRepository, times(2)).expireActive(List.of(1L));
+	}
+
+	@Test
+	void startupLoadPagesThroughActiveReservations() {
+		when(stockReservationRepository.findExpiriesAfter(eq(ReservationStatus.ACTIVE), any(), eq(0L), any(Pageable.class)))
+				.thenReturn(List.of(expiry(1L, PAST), expiry(2L, PAST.plusSeconds(1))));
+		when(stockReservationRepository.findExpiriesAfter(ReservationStatus.ACTIVE, PAST.plusSeconds(1), 2L, Pageable.ofSize(2)))
+				.thenReturn(List.of(expiry(3L, FUTURE)));
+
+		scheduler.loadActiveReservations();
+		scheduler.expireDue();
+
+		verify(stockReservationRepository).expireActive(List.of(1L, 2L));
+		verify(stockReservationRepository, times(2)).findExpiriesAfter(any(), any(), any(), any());
+		verifyNoMoreInteractions(stockReservationRepository);
+	}
+
+	private static ReservationExpiry expiry(Long reservationId, LocalDateTime expiresAt) {
+		return new ReservationExpiry() {
+			@Override
+			public Long getReservationId() {
+				return reservationId;
+			}
+
+			@Override
+			public LocalDateTime getExpiresAt() {
+				return expiresAt;
+			}
+		};
+	}
+}
@@ -0,0 +1,188 @@
+package com.example.inventory.service;
+
+import com.example.inventory.dto.reservation.ReservationDTO;
+import com.example.inventory.dto.reservation.ReserveStockRequest;
+import com.example.inventory.entity.ReservationStatus;
+import com.example.inventory.entity.StockReservation;
+import com.example.inventory.exception.InvalidOperationException;
+import com.example.inventory.exception.ResourceNotFoundException;
+import com.example.inventory.repository.InventoryRepository;
+import com.example.inventory.repository.StockReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationServiceTests {
+
+	@Mock
+	private StockReservationRepository stockReservationRepository;
+	@Mock
+	private InventoryRepository inventoryRepository;
+	@Mock
+	private StockLedgerService stockLedgerService;
+	@Mock
+	private ReservationExpiryScheduler expiryScheduler;
+	@Mock
+	private HotSkuService hotSkuService;
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+	@InjectMocks
+	private StockReservationService service;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(service, "defaultTtl", Duration.ofMinutes(15));
+		ReflectionTestUtils.setField(service, "maxTtl", Duration.ofHours(24));
+	}
+
+	@Test
+	void reserveHoldsStockAndSchedulesExpiry() {
+		givenSaveAssignsId(42L);
+		when(inventoryRepository.reserve(7L, 3)).thenReturn(1);
+
+		ReservationDTO reservation = service.reserve(request(7L, 3, null));
+
+		assertEquals(42L, reservation.getReservationId());
+		assertEquals(ReservationStatus.ACTIVE, reservation.getStatus());
+		assertEquals(reservation.getCreatedAt().plusMinutes(15), reservation.getExpiresAt());
+		// The inventory UPDATE locks the row until commit, so it comes after every other statement
+		InOrder order = inOrder(stockReservationRepository, expiryScheduler, inventoryRepository);
+		order.verify(stockReservationRepository).saveAndFlush(any(StockReservation.class));
+		order.verify(expiryScheduler).schedule(42L, reservation.getExpiresAt());
+		order.verify(inventoryRepository).reserve(7L, 3);
+	}
+
+	@Test
+	void reserveRejectsInsufficientStock() {
+		givenSaveAssignsId(42L);
+		when(inventoryRepository.reserve(7L, 3)).thenReturn(0);
+		when(inventoryRepository.existsByProduct_ProductId(7L)).thenReturn(true);
+
+		assertThrows(InvalidOperationException.class, () -> service.reserve(request(7L, 3, null)));
+	}
+
+	@Test
+	void reserveReportsMissingInventory() {
+		givenSaveAssignsId(42L);
+		when(inventoryRepository.reserve(7L, 3)).thenReturn(0);
+		when(inventoryRepository.existsByProduct_ProductId(7L)).thenReturn(false);
+
+		assertThrows(ResourceNotFoundException.class, () -> service.reserve(request(7L, 3, null)));
+	}
+
+	@Test
+	void reserveReportsMissingProduct() {
+		when(stockReservationRepository.saveAndFlush(any(StockReservation.class)))
+				.thenThrow(new DataIntegrityViolationException("violates foreign key constraint"));
+
+		assertThrows(ResourceNotFoundException.class, () -> service.reserve(request(7L, 3, null)));
+		verifyNoInteractions(inventoryRepository, expiryScheduler);
+	}
+
+	@Test
+	void reserveRejectsTtlAboveMaximum() {
+		assertThrows(InvalidOperationException.class,
+				() -> service.reserve(request(7L, 3, Duration.ofDays(2).toSeconds())));
+		verifyNoInteractions(stockReservationRepository, inventoryRepository, expiryScheduler);
+	}
+
+	@Test
+	void reserveRejectsHotSku() {
+		when(hotSkuService.isHot(7L)).thenReturn(true);
+
+		assertThrows(InvalidOperationException.class, () -> service.reserve(request(7L, 3, null)));
+		verifyNoInteractions(stockReservationRepository, inventoryRepository, expiryScheduler);
+	}
+
+	@Test
+	void reserveRejectsSkuThatTurnedHotBeforeTheRowLock() {
+		givenSaveAssignsId(42L);
+		when(hotSkuService.isHot(7L)).thenReturn(false, true);
+		when(inventoryRepository.reserve(7L, 3)).thenReturn(1);
+
+		assertThrows(InvalidOperationException.class, () -> service.reserve(request(7L, 3, null)));
+	}
+
+	@Test
+	void releaseHandsStockBackAndCancelsExpiry() {
+		StockReservation active = reservation(42L, ReservationStatus.ACTIVE);
+		when(stockReservationRepository.findById(42L)).thenReturn(Optional.of(active));
+		when(stockReservationRepository.closeIfActive(42L, "RELEASED")).thenReturn(1);
+		when(inventoryRepository.releaseReserved(7L, 3)).thenReturn(1);
+
+		ReservationDTO released = service.release(42L);
+
+		assertEquals(ReservationStatus.RELEASED, released.getStatus());
+		assertNotNull(released.getClosedAt());
+		verify(expiryScheduler).cancel(42L, active.getExpiresAt());
+	}
+
+	@Test
+	void releaseFailsWhenInventoryRowIsGone() {
+		when(stockReservationRepository.findById(42L)).thenReturn(Optional.of(reservation(42L, ReservationStatus.ACTIVE)));
+		when(stockReservationRepository.closeIfActive(42L, "RELEASED")).thenReturn(1);
+		when(inventoryRepository.releaseReserved(7L, 3)).thenReturn(0);
+
+		assertThrows(ResourceNotFoundException.class, () -> service.release(42L));
+	}
+
+	@Test
+	void releaseOfClosedReservationFails() {
+		when(stockReservationRepository.findById(42L)).thenReturn(Optional.of(reservation(42L, ReservationStatus.COMMITTED)));
+		when(stockReservationRepository.closeIfActive(42L, "RELEASED")).thenReturn(0);
+
+		InvalidOperationException e = assertThrows(InvalidOperationException.class, () -> service.release(42L));
+		assertTrue(e.getMessage().contains("COMMITTED"));
+		verify(inventoryRepository, never()).releaseReserved(anyLong(), anyInt());
+		verifyNoInteractions(expiryScheduler);
+	}
+
+	private void givenSaveAssignsId(Long id) {
+		when(stockReservationRepository.saveAndFlush(any(StockReservation.class))).thenAnswer(invocation -> {
+			StockReservation reservation = invocation.getArgument(0);
+			reservation.setReservationId(id);
+			return reservation;
+		});
+	}
+
+	private static ReserveStockRequest request(Long productId, int quantity, Long ttlSeconds) {
+		ReserveStockRequest request = new ReserveStockRequest();
+		request.setProductId(productId);
+		request.setQuantity(quantity);
+		request.setTtlSeconds(ttlSeconds);
+		return request;
+	}
+
+	private static StockReservation reservation(Long id, ReservationStatus status) {
+		StockReservation reservation = new StockReservation();
+		reservation.setReservationId(id);
+		reservation.setProductId(7L);
+		reservation.setQuantity(3);
+		reservation.setStatus(status);
+		reservation.setCreatedAt(LocalDateTime.now());
+		reservation.setExpiresAt(reservation.getCreatedAt().plusMinutes(15));
+		return reservation;
+	}
+}
@@ -0,0 +1,52 @@
+package com.example.inventory.service;
+
+import com.example.inventory.exception.DuplicateResourceException;
+import com.example.inventory.service.UniqueKeyFilters.KeySpace;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UniqueKeyFiltersTests {
+
+	private final UniqueKeyFilters filters = new UniqueKeyFilters();
+
+	@Test
+	void treatsEveryKeyAsMaybeUntilTheFirstBuild() {
+		assertTrue(filters.mightExist(KeySpace.PRODUCT_SKU, "SKU-1"));
+		assertFalse(filters.mightExist(KeySpace.PRODUCT_SKU, null));
+	}
+
+	@Test
+	void turnsUniqueViolationsIntoDuplicates() {
+		DataIntegrityViolationException wrapped = new DataIntegrityViolationException("could not execute statement",
+				new RuntimeException("constraint", new SQLException("duplicate key value", "23505")));
+
+		assertThrows(DuplicateResourceException.class, () -> filters.write(KeySpace.PRODUCT_SKU, "SKU-1", "taken", () -> {
+			throw wrapped;
+		}));
+		assertThrows(DuplicateResourceException.class, () -> filters.write(KeySpace.PRODUCT_SKU, "SKU-1", "taken", () -> {
+			throw new DuplicateKeyException("duplicate key value");
+		}));
+	}
+
+	@Test
+	void rethrowsOtherIntegrityViolations() {
+		DataIntegrityViolationException notNull = new DataIntegrityViolationException("could not execute statement",
+				new SQLException("null value in column \"name\"", "23502"));
+		DataIntegrityViolationException foreignKey = new DataIntegrityViolationException("could not execute statement",
+				new SQLException("violates foreign key constraint", "23503"));
+
+		assertSame(notNull, assertThrows(DataIntegrityViolationException.class,
+				() -> filters.write(KeySpace.PRODUCT_SKU, "SKU-1", "taken", () -> {
+					throw notNull;
+				})));
+		assertSame(foreignKey, assertThrows(DataIntegrityViolationException.class,
+				() -> filters.write(KeySpace.PRODUCT_SKU, "SKU-1", "taken", () -> {
+					throw foreignKey;
+				})));
+	}
+}
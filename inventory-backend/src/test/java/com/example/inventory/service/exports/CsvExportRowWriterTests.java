@@ -0,0 +1,74 @@
+package com.example.inventory.service.exports;
+
+import com.example.inventory.service.imports.CsvImportRowReader;
+import com.example.inventory.service.imports.ImportRow;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvExportRowWriterTests {
+
+	@Test
+	void quotesOnlyFieldsThatNeedIt() throws IOException {
+		String csv = write(new String[]{"sku", "name", "description"},
+				new Object[]{"A-1", "Widget", "plain"},
+				new Object[]{"A-2", "Red, large", "say \"hi\""},
+				new Object[]{"A-3", "two\nlines", "carriage\rreturn"});
+
+		assertEquals("sku,name,description\r\n"
+				+ "A-1,Widget,plain\r\n"
+				+ "A-2,\"Red, large\",\"say \"\"hi\"\"\"\r\n"
+				+ "A-3,\"two\nlines\",\"carriage\rreturn\"\r\n", csv);
+	}
+
+	@Test
+	void writesNullsAsEmptyFieldsAndFormatsValues() throws IOException {
+		String csv = write(new String[]{"id", "price", "value", "updated", "note"},
+				new Object[]{7L, 1.5, new BigDecimal("12.50"), Timestamp.valueOf(LocalDateTime.of(2024, 3, 1, 9, 30, 15)), null},
+				new Object[]{null, null, null, null, ""});
+
+		assertEquals("id,price,value,updated,note\r\n"
+				+ "7,1.5,12.50,2024-03-01T09:30:15,\r\n"
+				+ ",,,,\r\n", csv);
+	}
+
+	@Test
+	void keepsNonAsciiTextAsUtf8() throws IOException {
+		String csv = write(new String[]{"name"}, new Object[]{"Caf\u00e9 \u00e0 la cr\u00e8me"});
+
+		assertEquals("name\r\nCaf\u00e9 \u00e0 la cr\u00e8me\r\n", csv);
+	}
+
+	@Test
+	void readsBackThroughTheImportReader() throws IOException {
+		String csv = write(new String[]{"sku", "name", "description", "categoryId", "supplierId", "purchasePrice", "sellingPrice", "quantityInStock"},
+				new Object[]{"A-1", "Widget", "Red, \"large\"\nsecond line", 1L, 2L, 1.5, 3.0, 10});
+
+		try (CsvImportRowReader reader = new CsvImportRowReader(new StringReader(csv))) {
+			ImportRow row = reader.next();
+			assertNull(row.error());
+			assertEquals("Red, \"large\"\nsecond line", row.data().getDescription());
+			assertEquals(10, row.data().getQuantityInStock());
+			assertNull(reader.next());
+		}
+	}
+
+	private static String write(String[] header, Object[]... rows) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (CsvExportRowWriter writer = new CsvExportRowWriter(out)) {
+			writer.writeHeader(header);
+			for (Object[] row : rows) {
+				writer.writeRow(row);
+			}
+		}
+		return out.toString(StandardCharsets.UTF_8);
+	}
+}
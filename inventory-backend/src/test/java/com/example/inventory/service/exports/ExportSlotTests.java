@@ -0,0 +1,47 @@
+package com.example.inventory.service.exports;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportSlotTests {
+
+	@Test
+	void acquiresUpToThePermitCount() {
+		Semaphore permits = new Semaphore(1);
+		ExportSlot slot = ExportSlot.tryAcquire(permits);
+		assertNotNull(slot);
+		assertNull(ExportSlot.tryAcquire(permits));
+
+		slot.releaseIfNotStarted();
+		assertNotNull(ExportSlot.tryAcquire(permits));
+	}
+
+	@Test
+	void aRunningExportKeepsItsPermitUntilItFinishes() {
+		Semaphore permits = new Semaphore(1);
+		ExportSlot slot = ExportSlot.tryAcquire(permits);
+
+		assertTrue(slot.start());
+		slot.releaseIfNotStarted(); // The request timed out while the export was still writing
+		assertEquals(0, permits.availablePermits());
+		slot.finish();
+		slot.finish();
+		assertEquals(1, permits.availablePermits());
+	}
+
+	@Test
+	void anExportThatNeverStartedIsReleasedOnceAndCannotStartLater() {
+		Semaphore permits = new Semaphore(1);
+		ExportSlot slot = ExportSlot.tryAcquire(permits);
+
+		slot.releaseIfNotStarted();
+		slot.releaseIfNotStarted();
+		assertEquals(1, permits.availablePermits());
+		assertFalse(slot.start());
+		slot.finish();
+		assertEquals(1, permits.availablePermits());
+	}
+}
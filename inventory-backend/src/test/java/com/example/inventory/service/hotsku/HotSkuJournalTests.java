@@ -0,0 +1,130 @@
+package com.example.inventory.service.hotsku;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotSkuJournalTests {
+
+	private static final int RECORD_BYTES = 28;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void syncedEntriesAreDrainedAndReplayedInOrder() throws IOException {
+		try (HotSkuJournal journal = new HotSkuJournal(directory, 1 << 20, 0)) {
+			CompletableFuture.allOf(journal.append(7, -2), journal.append(8, 5), journal.append(7, -1)).join();
+
+			List<HotSkuJournal.Entry> durable = journal.drainDurable();
+			assertEquals(List.of(new HotSkuJournal.Entry(1, 7, -2), new HotSkuJournal.Entry(2, 8, 5),
+					new HotSkuJournal.Entry(3, 7, -1)), durable);
+			assertTrue(journal.drainDurable().isEmpty());
+		}
+
+		assertEquals(List.of(new HotSkuJournal.Entry(2, 8, 5), new HotSkuJournal.Entry(3, 7, -1)),
+				HotSkuJournal.readAfter(directory, 1));
+	}
+
+	@Test
+	void rollsOverToANewSegmentWhenFullAndDiscardsCheckpointedOnes() throws IOException {
+		try (HotSkuJournal journal = new HotSkuJournal(directory, 2 * RECORD_BYTES, 0)) {
+			for (int i = 1; i <= 5; i++) {
+				journal.append(i, i).join(); // One record per group, so every segment holds exactly two
+			}
+			assertEquals(3, segmentCount());
+			assertEquals(List.of(1L, 2L, 3L, 4L, 5L), sequences(HotSkuJournal.readAfter(directory, 0)));
+
+			journal.discardUpTo(3); // The second segment still holds seq 4
+			assertEquals(2, segmentCount());
+			assertEquals(List.of(3L, 4L, 5L), sequences(HotSkuJournal.readAfter(directory, 0)));
+
+			journal.discardUpTo(5); // The open segment is never discarded
+			assertEquals(1, segmentCount());
+			assertEquals(List.of(5L), sequences(HotSkuJournal.readAfter(directory, 0)));
+		}
+	}
+
+	@Test
+	void readAfterIgnoresATornTailRecord() throws IOException {
+		try (HotSkuJournal journal = new HotSkuJournal(directory, 1 << 20, 0)) {
+			journal.append(7, -2).join();
+			journal.append(7, -3).join();
+		}
+		Files.write(onlySegment(), new byte[RECORD_BYTES - 5], StandardOpenOption.APPEND); // Crash mid-write
+
+		assertEquals(List.of(1L, 2L), sequences(HotSkuJournal.readAfter(directory, 0)));
+	}
+
+	@Test
+	void readAfterStopsAtACorruptRecord() throws IOException {
+		try (HotSkuJournal journal = new HotSkuJournal(directory, 1 << 20, 0)) {
+			journal.append(7, -2).join();
+			journal.append(7, -3).join();
+			journal.append(7, -4).join();
+		}
+		Path segment = onlySegment();
+		byte[] bytes = Files.readAllBytes(segment);
+		bytes[RECORD_BYTES + 20] ^= 1; // Flip a bit in the second record's delta
+		Files.write(segment, bytes);
+
+		assertEquals(List.of(1L), sequences(HotSkuJournal.readAfter(directory, 0)));
+	}
+
+	@Test
+	void reopeningContinuesAfterTheReplayedSequence() throws IOException {
+		try (HotSkuJournal journal = new HotSkuJournal(directory, 1 << 20, 0)) {
+			journal.append(7, -2).join();
+			journal.append(7, -3).join();
+		}
+		List<HotSkuJournal.Entry> replayed = HotSkuJournal.readAfter(directory, 0);
+
+		try (HotSkuJournal journal = new HotSkuJournal(directory, 1 << 20, replayed.get(replayed.size() - 1).seq())) {
+			journal.append(8, 1).join();
+			assertEquals(List.of(new HotSkuJournal.Entry(3, 8, 1)), journal.drainDurable());
+		}
+		assertEquals(List.of(3L), sequences(HotSkuJournal.readAfter(directory, 0))); // Replayed segments are gone
+	}
+
+	@Test
+	void appendAfterCloseFails() {
+		HotSkuJournal journal = new HotSkuJournal(directory, 1 << 20, 0);
+		journal.close();
+
+		CompletableFuture<Void> synced = journal.append(7, -1);
+		assertThrows(CompletionException.class, synced::join);
+	}
+
+	@Test
+	void readAfterOnAMissingDirectoryIsEmpty() throws IOException {
+		assertTrue(HotSkuJournal.readAfter(directory.resolve("missing"), 0).isEmpty());
+	}
+
+	private long segmentCount() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.count();
+		}
+	}
+
+	private Path onlySegment() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			List<Path> segments = files.toList();
+			assertEquals(1, segments.size());
+			return segments.get(0);
+		}
+	}
+
+	private static List<Long> sequences(List<HotSkuJournal.Entry> entries) {
+		return entries.stream().map(HotSkuJournal.Entry::seq).toList();
+	}
+}
@@ -0,0 +1,121 @@
+package com.example.inventory.service.hotsku;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedStockCounterTests {
+
+	@Test
+	void spreadsInitialStockAcrossStripes() {
+		assertEquals(10, new StripedStockCounter(10, 3).sum());
+		assertEquals(3, new StripedStockCounter(3, 8).sum());
+		assertEquals(0, new StripedStockCounter(0, 1).sum());
+	}
+
+	@Test
+	void decrementsNeverTakeTheTotalBelowZero() {
+		StripedStockCounter counter = new StripedStockCounter(5, 4);
+
+		assertTrue(counter.tryAdd(-3)); // Spans several stripes
+		assertFalse(counter.tryAdd(-3));
+		assertEquals(2, counter.sum()); // The failed attempt handed back what it took
+		assertTrue(counter.tryAdd(-2));
+		assertFalse(counter.tryAdd(-1));
+		assertTrue(counter.tryAdd(4));
+		assertEquals(4, counter.sum());
+	}
+
+	@Test
+	void holdsTheFloorUnderContention() throws InterruptedException {
+		StripedStockCounter counter = new StripedStockCounter(10_000, 8);
+		AtomicLong taken = new AtomicLong();
+		AtomicLong added = new AtomicLong();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 16; t++) {
+			boolean adder = t % 4 == 0;
+			threads.add(Thread.ofPlatform().start(() -> {
+				awaitQuietly(start);
+				for (int i = 0; i < 5_000; i++) {
+					if (adder) {
+						if (counter.tryAdd(1)) {
+							added.incrementAndGet();
+						}
+					} else {
+						long units = 1 + i % 3;
+						if (counter.tryAdd(-units)) {
+							taken.addAndGet(units);
+						}
+					}
+				}
+			}));
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertTrue(taken.get() > 0);
+		assertEquals(10_000 + added.get() - taken.get(), counter.sum()); // Nothing lost or created
+		assertTrue(counter.sum() >= 0);
+	}
+
+	@Test
+	void sealReturnsTheTotalAndStopsUpdates() {
+		StripedStockCounter counter = new StripedStockCounter(10, 4);
+		assertTrue(counter.tryAdd(5));
+		assertTrue(counter.tryAdd(-7));
+
+		assertEquals(8, counter.seal());
+		assertTrue(counter.isSealed());
+		assertFalse(counter.tryAdd(1));
+		assertFalse(counter.tryAdd(-1));
+		assertEquals(0, counter.sum());
+	}
+
+	@Test
+	void noUpdateSucceedsOnceSealedUnderContention() throws InterruptedException {
+		StripedStockCounter counter = new StripedStockCounter(1_000_000, 8);
+		AtomicBoolean sealed = new AtomicBoolean();
+		AtomicLong lateSuccesses = new AtomicLong();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			long delta = t % 2 == 0 ? -1 : 1;
+			threads.add(Thread.ofPlatform().start(() -> {
+				awaitQuietly(start);
+				for (int i = 0; i < 20_000; i++) {
+					boolean sealedBefore = sealed.get();
+					if (counter.tryAdd(delta) && sealedBefore) {
+						lateSuccesses.incrementAndGet();
+					}
+				}
+			}));
+		}
+		start.countDown();
+		long total = counter.seal();
+		sealed.set(true);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertTrue(total >= 0);
+		assertEquals(0, lateSuccesses.get());
+		assertFalse(counter.tryAdd(1));
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
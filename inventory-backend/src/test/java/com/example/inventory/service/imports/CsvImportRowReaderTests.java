@@ -0,0 +1,45 @@
+package com.example.inventory.service.imports;
+
+import com.example.inventory.exception.InvalidOperationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvImportRowReaderTests {
+
+	@Test
+	void parsesQuotedFieldsAndTracksLines() throws IOException {
+		String csv = "sku,name,description,categoryId,supplierId,purchasePrice,sellingPrice,quantityInStock\r\n"
+				+ "A-1,Widget,\"Red, \"\"large\"\"\",1,2,1.5,3.0,10\r\n"
+				+ "\n"
+				+ "A-2,Gadget,\"two\nlines\",1,2,2,4,\n"
+				+ "A-3,Broken,,x,2,1,1,\n";
+		try (CsvImportRowReader reader = new CsvImportRowReader(new StringReader(csv))) {
+			ImportRow first = reader.next();
+			assertEquals(2, first.line());
+			assertEquals("Red, \"large\"", first.data().getDescription());
+			assertEquals(10, first.data().getQuantityInStock());
+
+			ImportRow second = reader.next();
+			assertEquals(4, second.line());
+			assertEquals("two\nlines", second.data().getDescription());
+			assertNull(second.data().getQuantityInStock());
+
+			ImportRow third = reader.next();
+			assertEquals(6, third.line());
+			assertNull(third.data());
+			assertTrue(third.error().contains("categoryid"));
+
+			assertNull(reader.next());
+		}
+	}
+
+	@Test
+	void rejectsHeaderWithoutRequiredColumns() {
+		assertThrows(InvalidOperationException.class,
+				() -> new CsvImportRowReader(new StringReader("sku,name\nA-1,Widget\n")));
+	}
+}
@@ -0,0 +1,53 @@
+package com.example.inventory.service.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonImportRowReaderTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void parsesObjectsAndSkipsBlankLines() throws IOException {
+		String ndjson = "{\"sku\":\"A-1\",\"name\":\"Widget\",\"categoryId\":1,\"supplierId\":2,"
+				+ "\"purchasePrice\":1.5,\"sellingPrice\":3.0,\"quantityInStock\":10}\n"
+				+ "\n"
+				+ "{\"sku\":\"A-2\",\"name\":\"Gadget\"}\n";
+		try (NdjsonImportRowReader reader = new NdjsonImportRowReader(new StringReader(ndjson), objectMapper)) {
+			ImportRow first = reader.next();
+			assertEquals(1, first.line());
+			assertEquals("A-1", first.data().getSku());
+			assertEquals(10, first.data().getQuantityInStock());
+
+			ImportRow second = reader.next();
+			assertEquals(3, second.line());
+			assertEquals("Gadget", second.data().getName());
+			assertNull(second.data().getCategoryId());
+
+			assertNull(reader.next());
+		}
+	}
+
+	@Test
+	void rejectsLinesThatAreNotObjects() throws IOException {
+		String ndjson = "null\n42\n\"text\"\n[{\"sku\":\"A-1\"}]\n{\"sku\":\n";
+		try (NdjsonImportRowReader reader = new NdjsonImportRowReader(new StringReader(ndjson), objectMapper)) {
+			for (int line = 1; line <= 4; line++) {
+				ImportRow row = reader.next();
+				assertEquals(line, row.line());
+				assertNull(row.data());
+				assertEquals("Expected a JSON object", row.error());
+			}
+			ImportRow malformed = reader.next();
+			assertNull(malformed.data());
+			assertTrue(malformed.error().startsWith("Malformed JSON"));
+
+			assertNull(reader.next());
+		}
+	}
+}
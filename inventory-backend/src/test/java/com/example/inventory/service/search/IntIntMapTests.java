@@ -0,0 +1,43 @@
+package com.example.inventory.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntIntMapTests {
+
+	@Test
+	void addsAndOrsPerKey() {
+		IntIntMap map = new IntIntMap(4);
+		map.add(7, 1);
+		map.add(7, 2);
+		map.or(9, 0b01);
+		map.or(9, 0b10);
+
+		assertEquals(3, map.get(7));
+		assertEquals(0b11, map.get(9));
+		assertEquals(0, map.get(8));
+		assertTrue(map.containsKey(9));
+		assertFalse(map.containsKey(8));
+		assertEquals(2, map.size());
+	}
+
+	@Test
+	void keepsEveryEntryAcrossResizes() {
+		IntIntMap map = new IntIntMap(1);
+		for (int key = 0; key < 10_000; key++) {
+			map.add(key * 31, key);
+		}
+
+		assertEquals(10_000, map.size());
+		Map<Integer, Integer> seen = new HashMap<>();
+		map.forEach(seen::put);
+		assertEquals(10_000, seen.size());
+		for (int key = 0; key < 10_000; key++) {
+			assertEquals(key, map.get(key * 31));
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.example.inventory.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTests {
+
+	@Test
+	void normalizesToLowercaseAsciiWords() {
+		assertEquals("cafe creme 500ml", ProductSearchIndex.normalize("Caf\u00e9 Cr\u00e8me -- 500ml!"));
+		assertEquals("", ProductSearchIndex.normalize(null));
+		assertEquals("", ProductSearchIndex.normalize(" -- "));
+	}
+
+	@Test
+	void ranksAnExactSkuFirstAndToleratesTypos() {
+		ProductSearchIndex index = new ProductSearchIndex();
+		index.upsert(1, "Cordless Drill 18V", "DRL-1800", "Compact drill with two batteries");
+		index.upsert(2, "Drill Bit Set", "BIT-0100", "Titanium bits for the cordless drill");
+		index.upsert(3, "Garden Hose", "HOS-2500", "Twenty five metres");
+
+		assertEquals(1, index.search("DRL-1800", 10).get(0).productId());
+		assertEquals(1, index.search("cordles dril", 10).get(0).productId());
+		assertTrue(ids(index.search("titanium", 10)).contains(2L)); // Description word
+		assertTrue(index.search("xyzzy", 10).isEmpty());
+	}
+
+	@Test
+	void reflectsUpdatesAndRemovals() {
+		ProductSearchIndex index = new ProductSearchIndex();
+		index.upsert(1, "Blue Widget", "WID-1", null);
+		index.upsert(2, "Red Widget", "WID-2", null);
+
+		index.upsert(1, "Green Hose", "HOS-1", null);
+		assertEquals(List.of(2L), ids(index.search("widget", 10)));
+		assertEquals(List.of(1L), ids(index.search("hose", 10)));
+
+		index.remove(2);
+		assertTrue(index.search("widget", 10).isEmpty());
+		assertEquals(1, index.size());
+
+		index.upsert(3, "Red Widget", "WID-3", null); // Reuses the freed document number
+		assertEquals(List.of(3L), ids(index.search("widget", 10)));
+	}
+
+	@Test
+	void autocompletesShortestNamesFirst() {
+		ProductSearchIndex index = new ProductSearchIndex();
+		index.upsert(1, "Hammer Drill Pro", "HD-1", null);
+		index.upsert(2, "Hammer", "HM-1", null);
+		index.upsert(3, "Claw Hammer", "CH-1", null);
+		index.upsert(4, "Screwdriver", "SD-1", null);
+
+		List<ProductSearchIndex.Suggestion> suggestions = index.autocomplete("ham", 2);
+		assertEquals(2, suggestions.size());
+		assertEquals(2, suggestions.get(0).productId());
+		assertEquals(3, suggestions.get(1).productId());
+
+		List<ProductSearchIndex.Suggestion> narrowed = index.autocomplete("claw ha", 10);
+		assertEquals(1, narrowed.size());
+		assertEquals(3, narrowed.get(0).productId());
+	}
+
+	@Test
+	void staysConsistentAfterManyEditsToCommonPostings() {
+		ProductSearchIndex index = new ProductSearchIndex();
+		for (long id = 1; id <= 3_000; id++) {
+			index.upsert(id, "Steel Bolt " + id, "BLT-" + id, null);
+		}
+		for (long id = 1; id <= 3_000; id += 2) {
+			index.remove(id);
+		}
+		for (long id = 2; id <= 3_000; id += 4) {
+			index.upsert(id, "Steel Nut " + id, "NUT-" + id, null);
+		}
+
+		assertEquals(1_500, index.size());
+		assertEquals(750, index.search("nut", 5_000).size());
+		assertEquals(1_500, index.search("steel", 5_000).size());
+		index.trimToSize();
+		assertEquals(750, index.search("bolt", 5_000).size());
+	}
+
+	private static List<Long> ids(List<ProductSearchIndex.Hit> hits) {
+		return hits.stream().map(ProductSearchIndex.Hit::productId).toList();
+	}
+}
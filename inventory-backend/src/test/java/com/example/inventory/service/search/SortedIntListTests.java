@@ -0,0 +1,77 @@
+package com.example.inventory.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedIntListTests {
+
+	@Test
+	void keepsAppendsAndMiddleInsertsInOrder() {
+		SortedIntList list = new SortedIntList();
+		list.add(10);
+		list.add(20);
+		list.add(30);
+		list.add(15); // Buffered
+		list.add(5);
+		list.add(40);
+		list.add(20); // Duplicate
+
+		assertEquals(List.of(5, 10, 15, 20, 30, 40), toList(list));
+		assertEquals(6, list.size());
+		assertTrue(list.contains(15));
+		assertFalse(list.contains(25));
+	}
+
+	@Test
+	void removesFromTheArrayAndFromTheBuffer() {
+		SortedIntList list = new SortedIntList();
+		for (int i = 0; i < 10; i++) {
+			list.add(i * 10);
+		}
+		list.add(35);
+
+		assertTrue(list.remove(35));
+		assertTrue(list.remove(40));
+		assertFalse(list.remove(40));
+		assertFalse(list.remove(41));
+		assertEquals(List.of(0, 10, 20, 30, 50, 60, 70, 80, 90), toList(list));
+		assertFalse(list.contains(40));
+
+		list.add(40); // Re-adding a removed value cancels the removal
+		assertTrue(list.contains(40));
+		assertEquals(10, list.size());
+	}
+
+	@Test
+	void matchesASortedSetThroughCompactions() {
+		SortedIntList list = new SortedIntList();
+		TreeSet<Integer> expected = new TreeSet<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 20_000; i++) {
+			int value = random.nextInt(5_000);
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.remove(value), list.remove(value));
+			} else {
+				expected.add(value);
+				list.add(value);
+			}
+		}
+
+		assertEquals(new ArrayList<>(expected), toList(list));
+		assertEquals(expected.size(), list.size());
+		list.trimToSize();
+		assertEquals(new ArrayList<>(expected), toList(list));
+	}
+
+	private static List<Integer> toList(SortedIntList list) {
+		List<Integer> values = new ArrayList<>();
+		list.forEach(values::add);
+		return values;
+	}
+}
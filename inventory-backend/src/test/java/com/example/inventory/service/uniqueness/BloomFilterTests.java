@@ -0,0 +1,48 @@
+package com.example.inventory.service.uniqueness;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTests {
+
+	@Test
+	void neverMissesAKeyThatWasPut() {
+		BloomFilter filter = BloomFilter.create(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("SKU-" + i);
+		}
+		for (int i = 0; i < 10_000; i++) {
+			assertTrue(filter.mightContain("SKU-" + i));
+		}
+	}
+
+	@Test
+	void staysNearTheFalsePositiveRateItWasSizedFor() {
+		BloomFilter filter = BloomFilter.create(50_000, 0.01);
+		for (int i = 0; i < 50_000; i++) {
+			filter.put("present-" + i);
+		}
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain("absent-" + i)) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 1_500, "false positives: " + falsePositives); // 1% would be 1,000
+	}
+
+	@Test
+	void sizesFromTheExpectedKeysAndRate() {
+		BloomFilter filter = BloomFilter.create(1_000_000, 0.01);
+		assertEquals(1_000_000, filter.capacity());
+		// About 9.6 bits per key at 1%
+		assertTrue(filter.sizeInBytes() >= 1_150_000 && filter.sizeInBytes() <= 1_250_000, "bytes: " + filter.sizeInBytes());
+		assertTrue(BloomFilter.create(1_000, 0.001).sizeInBytes() > BloomFilter.create(1_000, 0.01).sizeInBytes());
+
+		BloomFilter tiny = BloomFilter.create(0, 0.01);
+		assertEquals(1, tiny.capacity());
+		assertEquals(8, tiny.sizeInBytes()); // One word at least
+		assertFalse(tiny.mightContain("anything"));
+	}
+}